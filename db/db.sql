@@ -1,20 +1,81 @@
 CREATE DATABASE quarkus-social;
 
+-- the schema itself is versioned under src/main/resources/db/migration and applied by Flyway at startup;
+-- this file mirrors the latest version for reference
+
+-- ids come from sequences stepping by 50: Hibernate's pooled optimizer hands out a block of
+-- 50 ids per nextval, which lets it batch inserts; the column defaults keep plain SQL inserts working
+CREATE SEQUENCE users_id_seq INCREMENT BY 50;
+CREATE SEQUENCE posts_id_seq INCREMENT BY 50;
+CREATE SEQUENCE followers_id_seq INCREMENT BY 50;
+
 CREATE TABLE USERS (
-	id bigserial not null primary key,
+	id bigint not null default nextval('users_id_seq') primary key,
 	name varchar(100) not null,
-	age integer not null
+	age integer not null,
+	follower_count bigint not null default 0,
+	following_count bigint not null default 0,
+	followers_version bigint not null default 0,
+	posts_version bigint not null default 0,
+	posts_changed_at timestamp
 );
 
+-- posts are range-partitioned by month on dateTime (posts_yYYYYmMM); the application creates upcoming
+-- months at startup and retires expired ones, posts_default takes anything outside those ranges
 CREATE TABLE POSTS (
-    id bigserial not null primary key,
+    id bigint not null default nextval('posts_id_seq'),
     post_text varchar(150) not null,
-    dateTime timestamp,
-    user_id bigint not null references USERS(id)
-);
+    dateTime timestamp not null default localtimestamp,
+    user_id bigint not null references USERS(id),
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('simple', coalesce(post_text, ''))) STORED,
+    primary key (id, dateTime)
+) PARTITION BY RANGE (dateTime);
+
+CREATE INDEX idx_posts_user_datetime_id ON POSTS (user_id, dateTime DESC, id DESC);
+CREATE INDEX idx_posts_search_vector ON POSTS USING GIN (search_vector);
+CREATE TABLE POSTS_DEFAULT PARTITION OF POSTS DEFAULT;
+CREATE SCHEMA posts_archive;
 
 CREATE TABLE FOLLOWERS (
-	id bigserial not null primary key,
+	id bigint not null default nextval('followers_id_seq') primary key,
 	user_id bigint not null references USERS(id),
 	follower_id bigint not null references USERS(id)
-);
\ No newline at end of file
+);
+
+ALTER TABLE FOLLOWERS ADD CONSTRAINT uk_followers_user_follower UNIQUE (user_id, follower_id);
+CREATE INDEX idx_followers_follower_id_id ON FOLLOWERS (follower_id, id);
+CREATE INDEX idx_followers_user_id_id ON FOLLOWERS (user_id, id);
+
+-- every committed follow/unfollow is announced on the followers_changed channel:
+-- '+<follower_id>:<user_id>@<application_name>', '-<follower_id>:<user_id>@<application_name>', or '*' after
+-- a truncate
+CREATE OR REPLACE FUNCTION followers_notify_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('followers_changed',
+                '+' || NEW.follower_id || ':' || NEW.user_id || '@' || current_setting('application_name'));
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('followers_changed',
+                '-' || OLD.follower_id || ':' || OLD.user_id || '@' || current_setting('application_name'));
+    ELSE
+        PERFORM pg_notify('followers_changed', '*');
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER followers_notify_edge AFTER INSERT OR DELETE ON FOLLOWERS
+    FOR EACH ROW EXECUTE FUNCTION followers_notify_change();
+
+CREATE TRIGGER followers_notify_truncate AFTER TRUNCATE ON FOLLOWERS
+    FOR EACH STATEMENT EXECUTE FUNCTION followers_notify_change();
+
+-- every committed post is announced on the posts_created channel as '<id>:<user_id>:<dateTime>'
+CREATE OR REPLACE FUNCTION posts_notify_created() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('posts_created',
+            NEW.id || ':' || NEW.user_id || ':' || to_char(NEW.dateTime, 'YYYY-MM-DD"T"HH24:MI:SS.US'));
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER posts_notify_insert AFTER INSERT ON POSTS
+    FOR EACH ROW EXECUTE FUNCTION posts_notify_created();
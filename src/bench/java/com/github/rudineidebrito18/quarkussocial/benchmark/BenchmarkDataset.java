@@ -0,0 +1,157 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import com.github.rudineidebrito18.quarkussocial.domain.graph.FollowGraph;
+import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
+import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Seeded social graph shared by the benchmarks: {@code users} accounts, each followed by the next
+ * {@code followersPerUser} accounts (wrapping around) and each with {@code postsPerUser} posts.
+ * The same sizes are only seeded once per JVM; {@link BenchmarkRunner} takes other sizes from
+ * system properties.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDataset {
+    private static final int FLUSH_EVERY = 500;
+    private static final Duration FOLLOW_GRAPH_TIMEOUT = Duration.ofSeconds(60);
+    private static String seeded;
+    private static long[] userIds;
+
+    @Param("1000")
+    public int users;
+    @Param("20")
+    public int followersPerUser;
+    @Param("50")
+    public int postsPerUser;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void seed() {
+        String key = users + "/" + followersPerUser + "/" + postsPerUser;
+        synchronized(BenchmarkDataset.class) {
+            if(key.equals(seeded)) {
+                return;
+            }
+            userIds = QuarkusTransaction.requiringNew().call(this::insertUsers);
+            QuarkusTransaction.requiringNew().run(this::insertFollowers);
+            QuarkusTransaction.requiringNew().run(this::insertPosts);
+            awaitFollowGraph();
+            seeded = key;
+        }
+    }
+
+    private long[] insertUsers() {
+        EntityManager em = entityManager();
+        long[] ids = new long[users];
+        for(int i = 0; i < users; i++) {
+            User user = new User();
+            user.setName("bench-user-" + i);
+            user.setAge(18 + i % 60);
+            em.persist(user);
+            ids[i] = user.getId();
+            flushEvery(em, i);
+        }
+        return ids;
+    }
+
+    private void insertFollowers() {
+        EntityManager em = entityManager();
+        int written = 0;
+        for(int u = 0; u < users; u++) {
+            for(int f = 1; f <= followersPerUser; f++) {
+                Follower follower = new Follower();
+                follower.setUser(em.getReference(User.class, userId(u)));
+                follower.setFollower(em.getReference(User.class, userId((u + f) % users)));
+                em.persist(follower);
+                flushEvery(em, written++);
+            }
+        }
+    }
+
+    private void insertPosts() {
+        EntityManager em = entityManager();
+        int written = 0;
+        for(int u = 0; u < users; u++) {
+            for(int p = 0; p < postsPerUser; p++) {
+                Post post = new Post();
+                post.setText("post " + p + " of user " + u);
+                post.setUser(em.getReference(User.class, userId(u)));
+                em.persist(post);
+                flushEvery(em, written++);
+            }
+        }
+    }
+
+    /**
+     * On PostgreSQL the follow graph picks the seeded edges up from change notifications, after the commit;
+     * waits for the last one so follow checks are measured against the whole graph. Other databases have no
+     * notifications, the graph stays empty there and every check goes to the database.
+     */
+    private void awaitFollowGraph() {
+        Config config = ConfigProvider.getConfig();
+        boolean listening = "postgresql".equals(config.getOptionalValue("quarkus.datasource.db-kind", String.class).orElse(""))
+                && config.getOptionalValue("social.follow-graph.enabled", Boolean.class).orElse(true);
+        if(!listening || followersPerUser == 0 || users < 2) {
+            return;
+        }
+        FollowGraph graph = Requests.bean(FollowGraph.class);
+        long userId = userId(users - 1);
+        long followerId = userId((users - 1 + followersPerUser) % users);
+        long deadline = System.nanoTime() + FOLLOW_GRAPH_TIMEOUT.toNanos();
+        while(!graph.follows(followerId, userId)) {
+            if(System.nanoTime() > deadline) {
+                throw new IllegalStateException("Follow graph didn't pick up the seeded edges within " + FOLLOW_GRAPH_TIMEOUT);
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private static void flushEvery(EntityManager em, int written) {
+        if(written % FLUSH_EVERY == FLUSH_EVERY - 1) {
+            em.flush();
+            em.clear();
+        }
+    }
+
+    private static EntityManager entityManager() {
+        return Arc.container().instance(EntityManager.class).get();
+    }
+
+    /**
+     * The id the {@code index}-th seeded user was given; the sequence hands out blocks, so they needn't be
+     * consecutive.
+     */
+    public long userId(int index) {
+        return userIds[index];
+    }
+
+    public long randomUserId() {
+        return userId(random.nextInt(users));
+    }
+
+    /**
+     * A user and one of its followers, so follow checks hit an existing edge.
+     */
+    public long[] randomEdge() {
+        int user = random.nextInt(users);
+        int follower = (user + 1 + random.nextInt(followersPerUser)) % users;
+        return new long[]{userId(user), userId(follower)};
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Boots the application once and runs the JMH benchmarks in-process against its beans (JMH can't fork
+ * into a Quarkus-started JVM, hence {@code forks(0)}). Results go to {@code target/jmh-result.json}.
+ * <p>
+ * Run with {@code ./mvnw test -Pbenchmark}, narrowing with {@code -Djmh.include=PostListing} and
+ * tuning with {@code -Djmh.warmup}, {@code -Djmh.iterations} and {@code -Djmh.time} (seconds). The
+ * {@link BenchmarkDataset} sizes are overridden the same way, e.g. {@code -Djmh.users=10000} or
+ * {@code -Djmh.postsPerUser=10,100} for one run per value, and so is {@link ListingLoadBenchmark}'s
+ * {@code -Djmh.concurrency}.
+ */
+@QuarkusTest
+class BenchmarkRunner {
+    private static final String[] PARAMS = {"users", "followersPerUser", "postsPerUser", "concurrency"};
+
+    @Test
+    void run() throws RunnerException {
+        run(System.getProperty("jmh.include", BenchmarkRunner.class.getPackageName()), "target/jmh-result.json");
+    }
+
+    static void run(String include, String result) throws RunnerException {
+        int seconds = Integer.getInteger("jmh.time", 2);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .forks(0)
+                .threads(1)
+                .warmupIterations(Integer.getInteger("jmh.warmup", 3))
+                .warmupTime(TimeValue.seconds(seconds))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(seconds))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result);
+        for(String param : PARAMS) {
+            String values = System.getProperty("jmh." + param);
+            if(values != null) {
+                options.param(param, values.split(","));
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
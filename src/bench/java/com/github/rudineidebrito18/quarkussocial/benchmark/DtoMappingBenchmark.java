@@ -0,0 +1,68 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
+import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a listing page, without the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+    @Param("20")
+    public int pageSize;
+
+    private List<Post> posts;
+    private List<Follower> followers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User author = new User();
+        author.setId(1L);
+        author.setName("author");
+        posts = new ArrayList<>(pageSize);
+        followers = new ArrayList<>(pageSize);
+        for(int i = 0; i < pageSize; i++) {
+            Post post = new Post();
+            post.setId((long) i);
+            post.setText("post " + i);
+            post.setDateTime(LocalDateTime.now().minusMinutes(i));
+            post.setUser(author);
+            posts.add(post);
+
+            User user = new User();
+            user.setId((long) i + 2);
+            user.setName("follower " + i);
+            Follower follower = new Follower();
+            follower.setId((long) i);
+            follower.setUser(author);
+            follower.setFollower(user);
+            followers.add(follower);
+        }
+    }
+
+    @Benchmark
+    public void posts(Blackhole blackhole) {
+        for(Post post : posts) {
+            blackhole.consume(PostResponse.fromEntity(post));
+        }
+    }
+
+    @Benchmark
+    public void followers(Blackhole blackhole) {
+        for(Follower follower : followers) {
+            blackhole.consume(new FollowerResponse(follower));
+        }
+    }
+}
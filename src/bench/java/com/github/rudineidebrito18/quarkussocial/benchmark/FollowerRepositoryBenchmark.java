@@ -0,0 +1,43 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FollowerRepositoryBenchmark {
+    private FollowerRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = Requests.bean(FollowerRepository.class);
+    }
+
+    @Benchmark
+    public boolean follows(BenchmarkDataset dataset) {
+        long[] edge = dataset.randomEdge();
+        return Requests.inRequest(() -> repository.follows(user(edge[1]), user(edge[0])));
+    }
+
+    @Benchmark
+    public int findByUser(BenchmarkDataset dataset) {
+        long userId = dataset.randomUserId();
+        return Requests.inRequest(() -> repository.findByUser(userId).size());
+    }
+
+    @Benchmark
+    public int findResponsesByUser(BenchmarkDataset dataset) {
+        long userId = dataset.randomUserId();
+        return Requests.inRequest(() -> repository.findResponsesByUser(userId).size());
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
+import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of the savePost and follow write paths, one JDBC statement per row (what IDENTITY ids
+ * force, {@code jdbcBatchSize=1}) against Hibernate batching on top of the pooled sequences. Scores are rows
+ * per second; the {@code statements} counter is per second too, so the two give the rows per statement.
+ * Posts go through the entity manager and their author is touched once per transaction, as
+ * {@link PostRepository#persist} would flush after every row. Point the test datasource at PostgreSQL for
+ * realistic round-trip costs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InsertThroughputBenchmark {
+    private static final int ROWS = 500;
+    private static final int FLUSH_EVERY = 50;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private PostRepository postRepository;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postRepository = Requests.bean(PostRepository.class);
+        statistics = Requests.bean(SessionFactory.class).getStatistics();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void savePost(BenchmarkDataset dataset, Statements statements) {
+        long authorId = dataset.randomUserId();
+        long before = statistics.getPrepareStatementCount();
+        QuarkusTransaction.requiringNew().run(() -> {
+            EntityManager entityManager = batching();
+            for(int i = 0; i < ROWS; i++) {
+                Post post = new Post();
+                post.setText("benchmark post " + i);
+                post.setUser(entityManager.getReference(User.class, authorId));
+                entityManager.persist(post);
+                flushEvery(entityManager, i);
+            }
+            entityManager.flush();
+            postRepository.touchAuthors(List.of(authorId));
+        });
+        statements.statements += statistics.getPrepareStatementCount() - before;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void follow(Followers followers, Statements statements) {
+        long before = statistics.getPrepareStatementCount();
+        QuarkusTransaction.requiringNew().run(() -> {
+            EntityManager entityManager = batching();
+            for(int i = 0; i < ROWS; i++) {
+                Follower follower = new Follower();
+                follower.setUser(entityManager.getReference(User.class, followers.followedId));
+                follower.setFollower(entityManager.getReference(User.class, followers.followerIds[i]));
+                entityManager.persist(follower);
+                flushEvery(entityManager, i);
+            }
+        });
+        statements.statements += statistics.getPrepareStatementCount() - before;
+    }
+
+    private EntityManager batching() {
+        EntityManager entityManager = Requests.bean(EntityManager.class);
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        return entityManager;
+    }
+
+    private static void flushEvery(EntityManager entityManager, int row) {
+        if(row % FLUSH_EVERY == FLUSH_EVERY - 1) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private static long newUser(EntityManager entityManager, String name) {
+        User user = new User();
+        user.setName(name);
+        user.setAge(30);
+        entityManager.persist(user);
+        return user.getId();
+    }
+
+    /**
+     * {@code ROWS} followers for the whole trial and a user nobody follows yet for every invocation,
+     * since a pair can only be followed once.
+     */
+    @State(Scope.Thread)
+    public static class Followers {
+        long[] followerIds;
+        long followedId;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            followerIds = QuarkusTransaction.requiringNew().call(() -> {
+                EntityManager entityManager = Requests.bean(EntityManager.class);
+                long[] ids = new long[ROWS];
+                for(int i = 0; i < ROWS; i++) {
+                    ids[i] = newUser(entityManager, "benchmark follower " + i);
+                }
+                return ids;
+            });
+        }
+
+        @Setup(Level.Invocation)
+        public void newFollowed() {
+            followedId = QuarkusTransaction.requiringNew().call(() -> newUser(Requests.bean(EntityManager.class), "benchmark followed"));
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Statements {
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import io.quarkus.test.common.http.TestHTTPResourceManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load on the post and follower listings over HTTP: {@code concurrency} clients, each on its own connection,
+ * send one request per round and the next round starts once all of them are answered. The score is rounds per
+ * second, the {@code ok} and {@code failed} counters are requests per second.
+ * <p>
+ * {@link BenchmarkRunner} runs it in worker mode and {@link VirtualThreadBenchmarkRunner} with
+ * {@code social.execution.mode=virtual}, so the two result files compare both modes. 10k connections need a
+ * matching {@code ulimit -n}; lower levels are picked with {@code -Djmh.concurrency=100,1000}. Point the test
+ * datasource at PostgreSQL for numbers that include real query latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ListingLoadBenchmark {
+    @Param({"1000", "10000"})
+    public int concurrency;
+
+    private ExecutorService executor;
+    private List<HttpClient> clients;
+    private List<HttpRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDataset dataset) {
+        URI base = URI.create(TestHTTPResourceManager.getUri() + "/");
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        clients = new ArrayList<>(concurrency);
+        requests = new ArrayList<>(concurrency);
+        for(int i = 0; i < concurrency; i++) {
+            long[] edge = dataset.randomEdge();
+            clients.add(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build());
+            // half the clients read a followed user's posts, the other half their followers
+            requests.add(i % 2 == 0
+                    ? HttpRequest.newBuilder(base.resolve("users/" + edge[0] + "/posts"))
+                        .header("followerId", String.valueOf(edge[1]))
+                        .build()
+                    : HttpRequest.newBuilder(base.resolve("users/" + edge[0] + "/followers")).build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.forEach(HttpClient::close);
+        executor.close();
+    }
+
+    @Benchmark
+    public void round(Responses responses) {
+        List<CompletableFuture<Boolean>> sent = new ArrayList<>(concurrency);
+        for(int i = 0; i < concurrency; i++) {
+            sent.add(clients.get(i).sendAsync(requests.get(i), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> error == null && response.statusCode() == 200));
+        }
+        for(CompletableFuture<Boolean> response : sent) {
+            if(response.join()) {
+                responses.ok++;
+            } else {
+                responses.failed++;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Responses {
+        public long ok;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            failed = 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowersPerUserResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostPageResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.CborMessageBodyWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost of a timeline page and a follower listing as JSON (the application's own
+ * {@link ObjectMapper}) and as CBOR (the {@code application/cbor} writer), with and without gzip.
+ * The encoded size of each variant is printed once per trial, since it doesn't change between runs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadEncodingBenchmark {
+    @Param({"posts", "followers"})
+    public String payload;
+
+    @Param("100")
+    public int size;
+
+    private Object entity;
+    private ObjectWriter json;
+    private CborMessageBodyWriter cbor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        entity = "posts".equals(payload) ? postPage() : followers();
+        // like the JAX-RS JSON provider, leave the target open so the gzip stream can still be finished
+        json = Requests.bean(ObjectMapper.class).writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        cbor = new CborMessageBodyWriter();
+
+        System.out.printf("%n%s x%d bytes: json=%d json+gzip=%d cbor=%d cbor+gzip=%d%n", payload, size,
+                json().size(), jsonGzip().size(), cbor().size(), cborGzip().size());
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream json() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeJson(out);
+        return out;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream jsonGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            writeJson(gzip);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream cbor() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeCbor(out);
+        return out;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream cborGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            writeCbor(gzip);
+        }
+        return out;
+    }
+
+    private void writeJson(OutputStream out) throws IOException {
+        json.writeValue(out, entity);
+    }
+
+    private void writeCbor(OutputStream out) throws IOException {
+        cbor.writeTo(entity, entity.getClass(), entity.getClass(), null, CborMessageBodyWriter.APPLICATION_CBOR_TYPE,
+                null, out);
+    }
+
+    private PostPageResponse postPage() {
+        List<PostResponse> posts = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for(int i = 0; i < size; i++) {
+            posts.add(new PostResponse((long) i, "post number " + i + " about nothing in particular",
+                    now.minusMinutes(i)));
+        }
+        PostPageResponse page = new PostPageResponse();
+        page.setContent(posts);
+        page.setNext("MjAyNi0xMC0xN1QxMjowMDowMHwxMjM0NQ");
+        return page;
+    }
+
+    private FollowersPerUserResponse followers() {
+        List<FollowerResponse> followers = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            followers.add(new FollowerResponse((long) i, "follower " + i));
+        }
+        FollowersPerUserResponse response = new FollowersPerUserResponse();
+        response.setFollowerCount((long) size);
+        response.setContent(followers);
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Post listing as served by {@code GET /users/{userId}/posts}: the first keyset page, the last one
+ * (cursor taken from the tail of the user's posts) and the legacy unpaged array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostListingBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int SAMPLED_USERS = 64;
+
+    private PostRepository repository;
+    private long[] deepUserIds;
+    private PostResponse[] deepCursors;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDataset dataset) {
+        repository = Requests.bean(PostRepository.class);
+        deepUserIds = new long[SAMPLED_USERS];
+        deepCursors = new PostResponse[SAMPLED_USERS];
+        for(int i = 0; i < SAMPLED_USERS; i++) {
+            long userId = dataset.randomUserId();
+            List<PostResponse> all = Requests.inRequest(() -> repository.findResponsesByUser(userId, null, null, 0));
+            deepUserIds[i] = userId;
+            deepCursors[i] = all.get(Math.max(all.size() - PAGE_SIZE - 1, 0));
+        }
+    }
+
+    @Benchmark
+    public int firstPage(BenchmarkDataset dataset) {
+        long userId = dataset.randomUserId();
+        return Requests.inRequest(() -> repository.findResponsesByUser(userId, null, null, PAGE_SIZE + 1).size());
+    }
+
+    @Benchmark
+    public int lastPage() {
+        int i = next++ & (SAMPLED_USERS - 1);
+        PostResponse cursor = deepCursors[i];
+        return Requests.inRequest(() -> repository
+                .findResponsesByUser(deepUserIds[i], cursor.getDateTime(), cursor.getId(), PAGE_SIZE + 1).size());
+    }
+
+    @Benchmark
+    public int unpaged(BenchmarkDataset dataset) {
+        long userId = dataset.randomUserId();
+        return Requests.inRequest(() -> repository.findResponsesByUser(userId, null, null, 0).size());
+    }
+}
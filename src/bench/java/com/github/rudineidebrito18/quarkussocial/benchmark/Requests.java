@@ -0,0 +1,29 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a benchmark body the way a REST call would: inside its own request context, hence with
+ * a fresh Hibernate session that is closed at the end.
+ */
+final class Requests {
+    private Requests() {
+    }
+
+    static <T> T inRequest(Supplier<T> body) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            return body.get();
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
+    static <T> T bean(Class<T> type) {
+        return Arc.container().instance(type).get();
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.rudineidebrito18.quarkussocial.benchmark;
+
+import com.github.rudineidebrito18.quarkussocial.rest.VirtualThreadsProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * {@link BenchmarkRunner} for the application booted with {@code social.execution.mode=virtual}. Only
+ * {@link ListingLoadBenchmark} goes through the REST resources, so it is the only one run here, and skipped
+ * when {@code -Djmh.include} leaves it out. Results go to {@code target/jmh-result-virtual.json}.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class VirtualThreadBenchmarkRunner {
+
+    @Test
+    void run() throws RunnerException {
+        String include = System.getProperty("jmh.include");
+        assumeTrue(include == null || Pattern.compile(include).matcher(ListingLoadBenchmark.class.getName() + ".round").find());
+        BenchmarkRunner.run(ListingLoadBenchmark.class.getName(), "target/jmh-result-virtual.json");
+    }
+}
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+#
+# Time-to-first-request and steady-state RSS of a packaged build.
+#
+#   src/bench/startup-benchmark.sh jvm|native
+#
+# Needs a reachable database (QUARKUS_DATASOURCE_* are passed through to the application) and a build of the
+# chosen variant in target/. Each run appends one CSV row to target/startup-benchmark.csv.
+set -euo pipefail
+
+MODE=${1:?usage: $0 jvm|native}
+RUNS=${RUNS:-5}
+WARMUP_REQUESTS=${WARMUP_REQUESTS:-2000}
+USER_ID=${USER_ID:-1}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}"
+
+cd "$(dirname "$0")/../.."
+RESULTS=target/startup-benchmark.csv
+
+case "$MODE" in
+  jvm)    COMMAND=(java -jar target/quarkus-app/quarkus-run.jar) ;;
+  native) COMMAND=(./target/quarkus-social-1.0.0-SNAPSHOT-runner) ;;
+  *)      echo "unknown mode: $MODE" >&2; exit 1 ;;
+esac
+
+if [[ ! -f $RESULTS ]]; then
+  echo "mode,run,time_to_first_request_ms,rss_after_start_kb,rss_steady_kb" > "$RESULTS"
+fi
+
+rss_kb() {
+  awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+}
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+for run in $(seq 1 "$RUNS"); do
+  started=$(now_ms)
+  QUARKUS_HTTP_PORT=$PORT "${COMMAND[@]}" > "target/startup-benchmark-$MODE-$run.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf -o /dev/null "$BASE_URL/users"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited, see target/startup-benchmark-$MODE-$run.log" >&2
+      exit 1
+    fi
+    sleep 0.005
+  done
+  first_request=$(( $(now_ms) - started ))
+  rss_start=$(rss_kb "$pid")
+
+  # warm the three listing resources, then let the heap settle before sampling
+  for _ in $(seq 1 "$WARMUP_REQUESTS"); do
+    curl -s -o /dev/null "$BASE_URL/users?limit=50"
+    curl -s -o /dev/null "$BASE_URL/users/$USER_ID/posts" -H "followerId: $USER_ID"
+    curl -s -o /dev/null "$BASE_URL/users/$USER_ID/followers"
+  done
+  sleep 5
+  rss_steady=$(rss_kb "$pid")
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+
+  echo "$MODE,$run,$first_request,$rss_start,$rss_steady" | tee -a "$RESULTS"
+done
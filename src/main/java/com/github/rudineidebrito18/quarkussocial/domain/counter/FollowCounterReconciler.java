@@ -0,0 +1,70 @@
+package com.github.rudineidebrito18.quarkussocial.domain.counter;
+
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Periodically repairs drift in {@code users.follower_count} / {@code following_count}, e.g. after rows
+ * were written outside the API. Detection is one grouped count per direction compared with the stored
+ * counters; only the drifted users are then rewritten, each from a fresh correlated count so follows
+ * committed meanwhile are not lost.
+ */
+@ApplicationScoped
+public class FollowCounterReconciler {
+    private static final Logger LOG = Logger.getLogger(FollowCounterReconciler.class);
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    private UserRepository userRepository;
+    private FollowerRepository followerRepository;
+
+    @Inject
+    public FollowCounterReconciler(UserRepository userRepository, FollowerRepository followerRepository) {
+        this.userRepository = userRepository;
+        this.followerRepository = followerRepository;
+    }
+
+    @Scheduled(every = "{social.followers.reconcile-every}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @Transactional
+    public void reconcile() {
+        Map<Long, Long> followers = followerRepository.countFollowersPerUser();
+        Map<Long, Long> following = followerRepository.countFollowingPerUser();
+
+        Set<Long> drifted = new HashSet<>();
+        userRepository.getEntityManager()
+                .createQuery("select u.id, u.followerCount, u.followingCount from User u", Object[].class)
+                .getResultStream()
+                .forEach(row -> {
+                    Long id = (Long) row[0];
+                    long followerCount = (Long) row[1];
+                    long followingCount = (Long) row[2];
+                    if(followerCount != followers.getOrDefault(id, 0L) || followingCount != following.getOrDefault(id, 0L)) {
+                        drifted.add(id);
+                    }
+                });
+
+        if(drifted.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(drifted);
+        for(int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+            userRepository.getEntityManager()
+                    .createQuery("update User u set"
+                            + " u.followerCount = (select count(f) from Follower f where f.user.id = u.id),"
+                            + " u.followingCount = (select count(f) from Follower f where f.follower.id = u.id)"
+                            + " where u.id in :ids")
+                    .setParameter("ids", ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size())))
+                    .executeUpdate();
+        }
+        LOG.infof("Reconciled follow counters of %d users", drifted.size());
+    }
+}
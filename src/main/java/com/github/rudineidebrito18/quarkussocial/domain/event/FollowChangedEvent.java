@@ -0,0 +1,12 @@
+package com.github.rudineidebrito18.quarkussocial.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FollowChangedEvent {
+    private Long followerId;
+    private Long userId;
+    private boolean following;
+}
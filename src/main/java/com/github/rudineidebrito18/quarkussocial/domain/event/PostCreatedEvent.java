@@ -0,0 +1,14 @@
+package com.github.rudineidebrito18.quarkussocial.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class PostCreatedEvent {
+    private Long postId;
+    private Long authorId;
+    private LocalDateTime dateTime;
+}
@@ -0,0 +1,10 @@
+package com.github.rudineidebrito18.quarkussocial.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserChangedEvent {
+    private Long userId;
+}
@@ -0,0 +1,197 @@
+package com.github.rudineidebrito18.quarkussocial.domain.graph;
+
+import com.github.rudineidebrito18.quarkussocial.domain.event.FollowChangedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.notification.DatabaseNotifications;
+import com.github.rudineidebrito18.quarkussocial.domain.notification.NotificationOrigin;
+import com.github.rudineidebrito18.quarkussocial.domain.notification.NotificationSubscriber;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory copy of the {@code followers} table as follower id -> set of followed user ids.
+ * <p>
+ * This instance's own follows and unfollows are applied right after they commit, from the
+ * {@link FollowChangedEvent}. Everyone else's (other instances, bulk imports) arrive on the
+ * {@code followers_changed} channel through {@link DatabaseNotifications}; a trigger (migrations V8 and V13)
+ * announces every committed edge change, and the ones {@link NotificationOrigin} recognizes as this instance's
+ * are skipped. The snapshot is read right after subscribing and what arrived meanwhile is replayed on top of
+ * it, so the copy trails the table only by the notification delay. Once {@link #isLoaded() loaded} its
+ * answers, negative ones included, stand for the table; until then (warming up, the connection dropped, a
+ * database other than PostgreSQL) callers go to the database.
+ */
+@ApplicationScoped
+public class FollowGraph implements NotificationSubscriber {
+    private static final Logger LOG = Logger.getLogger(FollowGraph.class);
+    public static final String CHANNEL = "followers_changed";
+
+    private final StampedLock lock = new StampedLock();
+    private LongObjectHashMap<LongHashSet> following = new LongObjectHashMap<>();
+    private volatile boolean loaded;
+    // this instance's changes committed while a snapshot is read, replayed on top of it; guarded by lock
+    private List<FollowChangedEvent> changedWhileLoading;
+
+    private NotificationOrigin origin;
+    private boolean enabled;
+
+    @Inject
+    public FollowGraph(NotificationOrigin origin,
+                       @ConfigProperty(name = "social.follow-graph.enabled", defaultValue = "true") boolean enabled) {
+        this.origin = origin;
+        this.enabled = enabled;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Lock-free on the happy path: an optimistic read that is only retried under the read lock
+     * when a writer got in the way. Only meaningful while {@link #isLoaded()}.
+     */
+    public boolean follows(long followerId, long userId) {
+        long stamp = lock.tryOptimisticRead();
+        boolean result = lookup(followerId, userId);
+        if(lock.validate(stamp)) {
+            return result;
+        }
+        stamp = lock.readLock();
+        try {
+            return lookup(followerId, userId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean lookup(long followerId, long userId) {
+        LongHashSet followed = following.get(followerId);
+        return followed != null && followed.contains(userId);
+    }
+
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) FollowChangedEvent event) {
+        if(!enabled) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            apply(following, event);
+            if(changedWhileLoading != null) {
+                changedWhileLoading.add(event);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void subscribed(Connection connection) throws SQLException {
+        if(enabled) {
+            load(connection);
+        }
+    }
+
+    @Override
+    public void unsubscribed() {
+        loaded = false;
+    }
+
+    /**
+     * Reads the table in one transaction. Notifications committed meanwhile are held back by the driver
+     * and applied after the snapshot is in place.
+     */
+    private void load(Connection connection) throws SQLException {
+        long stamp = lock.writeLock();
+        changedWhileLoading = new ArrayList<>();
+        lock.unlockWrite(stamp);
+
+        LongObjectHashMap<LongHashSet> snapshot = new LongObjectHashMap<>();
+        connection.setAutoCommit(false);
+        try(Statement statement = connection.createStatement()) {
+            statement.setFetchSize(1000);
+            try(ResultSet rows = statement.executeQuery("select follower_id, user_id from followers")) {
+                while(rows.next()) {
+                    apply(snapshot, rows.getLong(1), rows.getLong(2), true);
+                }
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        stamp = lock.writeLock();
+        try {
+            changedWhileLoading.forEach(event -> apply(snapshot, event));
+            changedWhileLoading = null;
+            following = snapshot;
+            loaded = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        LOG.infof("Follow graph loaded with %d followers", snapshot.size());
+    }
+
+    /**
+     * @return false when a notification asks for a full reload
+     */
+    @Override
+    public boolean received(List<String> payloads) {
+        if(!enabled) {
+            return true;
+        }
+        long stamp = lock.writeLock();
+        try {
+            for(String payload : payloads) {
+                int separator = payload.indexOf(':');
+                if(separator < 0) {
+                    return false;
+                }
+                if(origin.isLocal(payload)) {
+                    continue;
+                }
+                int end = payload.indexOf('@', separator);
+                apply(following, Long.parseLong(payload.substring(1, separator)),
+                        Long.parseLong(payload.substring(separator + 1, end < 0 ? payload.length() : end)),
+                        payload.charAt(0) == '+');
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static void apply(LongObjectHashMap<LongHashSet> graph, FollowChangedEvent event) {
+        apply(graph, event.getFollowerId(), event.getUserId(), event.isFollowing());
+    }
+
+    private static void apply(LongObjectHashMap<LongHashSet> graph, long followerId, long userId, boolean follow) {
+        LongHashSet followed = graph.get(followerId);
+        if(follow) {
+            if(followed == null) {
+                followed = new LongHashSet();
+                graph.put(followerId, followed);
+            }
+            followed.add(userId);
+        } else if(followed != null) {
+            followed.remove(userId);
+            if(followed.size() == 0) {
+                graph.remove(followerId);
+            }
+        }
+    }
+}
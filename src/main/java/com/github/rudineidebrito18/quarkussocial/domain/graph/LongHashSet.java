@@ -0,0 +1,111 @@
+package com.github.rudineidebrito18.quarkussocial.domain.graph;
+
+/**
+ * Open-addressing set of positive {@code long} values with linear probing.
+ * {@code 0} marks a free slot, which is safe because entity ids start at 1.
+ * <p>
+ * Not thread-safe on its own; {@link FollowGraph} serializes writers and validates readers.
+ * Lookups never throw or loop forever even when they race with a writer, they may only
+ * return a wrong answer that the caller then discards.
+ */
+final class LongHashSet {
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] slots;
+    private int size;
+
+    LongHashSet() {
+        this.slots = new long[MIN_CAPACITY];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long value) {
+        long[] table = slots;
+        int mask = table.length - 1;
+        int index = LongHashing.mix(value) & mask;
+        for(int probes = 0; probes < table.length; probes++) {
+            long current = table[index];
+            if(current == value) {
+                return true;
+            }
+            if(current == 0) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    boolean add(long value) {
+        if((size + 1) * 4L > slots.length * 3L) {
+            rehash(slots.length * 2);
+        }
+        int mask = slots.length - 1;
+        int index = LongHashing.mix(value) & mask;
+        while(true) {
+            long current = slots[index];
+            if(current == value) {
+                return false;
+            }
+            if(current == 0) {
+                slots[index] = value;
+                size++;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    boolean remove(long value) {
+        int mask = slots.length - 1;
+        int index = LongHashing.mix(value) & mask;
+        while(true) {
+            long current = slots[index];
+            if(current == 0) {
+                return false;
+            }
+            if(current == value) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+
+        // backward-shift deletion keeps probe chains intact without tombstones
+        int gap = index;
+        int next = index;
+        while(true) {
+            next = (next + 1) & mask;
+            long current = slots[next];
+            if(current == 0) {
+                break;
+            }
+            int home = LongHashing.mix(current) & mask;
+            if(((next - home) & mask) >= ((next - gap) & mask)) {
+                slots[gap] = current;
+                gap = next;
+            }
+        }
+        slots[gap] = 0;
+        size--;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        long[] table = new long[capacity];
+        int mask = capacity - 1;
+        for(long value : old) {
+            if(value != 0) {
+                int index = LongHashing.mix(value) & mask;
+                while(table[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+        slots = table;
+    }
+}
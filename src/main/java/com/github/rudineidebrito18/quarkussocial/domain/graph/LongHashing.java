@@ -0,0 +1,11 @@
+package com.github.rudineidebrito18.quarkussocial.domain.graph;
+
+final class LongHashing {
+    private LongHashing() {
+    }
+
+    static int mix(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
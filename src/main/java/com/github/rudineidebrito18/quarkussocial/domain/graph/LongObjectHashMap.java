@@ -0,0 +1,120 @@
+package com.github.rudineidebrito18.quarkussocial.domain.graph;
+
+/**
+ * Open-addressing map from positive {@code long} keys to objects, same probing scheme
+ * and concurrency contract as {@link LongHashSet}.
+ */
+final class LongObjectHashMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    LongObjectHashMap() {
+        this.keys = new long[MIN_CAPACITY];
+        this.values = new Object[MIN_CAPACITY];
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        long[] keyTable = keys;
+        Object[] valueTable = values;
+        if(keyTable.length != valueTable.length) {
+            return null;
+        }
+        int mask = keyTable.length - 1;
+        int index = LongHashing.mix(key) & mask;
+        for(int probes = 0; probes < keyTable.length; probes++) {
+            long current = keyTable[index];
+            if(current == key) {
+                return (V) valueTable[index];
+            }
+            if(current == 0) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    void put(long key, V value) {
+        if((size + 1) * 4L > keys.length * 3L) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int index = LongHashing.mix(key) & mask;
+        while(true) {
+            long current = keys[index];
+            if(current == key) {
+                values[index] = value;
+                return;
+            }
+            if(current == 0) {
+                values[index] = value;
+                keys[index] = key;
+                size++;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int index = LongHashing.mix(key) & mask;
+        while(true) {
+            long current = keys[index];
+            if(current == 0) {
+                return;
+            }
+            if(current == key) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+
+        int gap = index;
+        int next = index;
+        while(true) {
+            next = (next + 1) & mask;
+            long current = keys[next];
+            if(current == 0) {
+                break;
+            }
+            int home = LongHashing.mix(current) & mask;
+            if(((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = current;
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        long[] keyTable = new long[capacity];
+        Object[] valueTable = new Object[capacity];
+        int mask = capacity - 1;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != 0) {
+                int index = LongHashing.mix(oldKeys[i]) & mask;
+                while(keyTable[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keyTable[index] = oldKeys[i];
+                valueTable[index] = oldValues[i];
+            }
+        }
+        values = valueTable;
+        keys = keyTable;
+    }
+}
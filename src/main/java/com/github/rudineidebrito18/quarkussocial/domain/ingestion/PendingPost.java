@@ -0,0 +1,20 @@
+package com.github.rudineidebrito18.quarkussocial.domain.ingestion;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post accepted by {@link PostIngestion} but not written yet; its id is already final.
+ */
+@RegisterForReflection
+@Data
+@AllArgsConstructor
+public class PendingPost {
+    private Long id;
+    private Long userId;
+    private String text;
+    private LocalDateTime dateTime;
+}
@@ -0,0 +1,232 @@
+package com.github.rudineidebrito18.quarkussocial.domain.ingestion;
+
+import com.github.rudineidebrito18.quarkussocial.domain.event.PostCreatedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.jboss.logging.Logger;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind path for new posts, enabled with {@code social.posts.ingestion.mode=async}.
+ * <p>
+ * Accepted posts get their id from the {@code Post} sequence straight away and wait in a bounded
+ * queue. A single writer thread stores them as multi-row inserts, one transaction per
+ * {@code batch-size} posts, whenever a full batch is queued or {@code flush-interval} elapses.
+ * {@link #offer} returns {@code null} when the queue is full so callers can push back.
+ * <p>
+ * Accepted posts have been answered already, so a failed write is only given up for a post the database
+ * rejects for good (a data or integrity error, such as an author deleted since): it is dropped and its id
+ * logged. Anything else is put back at the head of the line and the writer backs off, doubling from
+ * {@code flush-interval} up to {@link #MAX_BACKOFF}, while the full queue pushes back on new posts.
+ * On shutdown the queue stops accepting and is drained, retries included, for up to
+ * {@link #SHUTDOWN_TIMEOUT} before the datasource goes away.
+ */
+@ApplicationScoped
+public class PostIngestion {
+    private static final Logger LOG = Logger.getLogger(PostIngestion.class);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ScheduledExecutorService writer =
+            Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "post-ingestion"));
+
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    // writer thread only
+    private final Deque<PendingPost> retries = new ArrayDeque<>();
+    private int failures;
+    private long retryAt;
+
+    private PostRepository postRepository;
+    private Event<PostCreatedEvent> postCreated;
+    private boolean enabled;
+    private int batchSize;
+    private Duration flushInterval;
+    private BlockingQueue<PendingPost> queue;
+    private volatile boolean accepting = true;
+
+    @Inject
+    public PostIngestion(PostRepository postRepository, Event<PostCreatedEvent> postCreated,
+                         @ConfigProperty(name = "social.posts.ingestion.mode", defaultValue = "sync") String mode,
+                         @ConfigProperty(name = "social.posts.ingestion.queue-capacity", defaultValue = "10000") int queueCapacity,
+                         @ConfigProperty(name = "social.posts.ingestion.batch-size", defaultValue = "500") int batchSize,
+                         @ConfigProperty(name = "social.posts.ingestion.flush-interval", defaultValue = "PT0.2S") Duration flushInterval) {
+        this.postRepository = postRepository;
+        this.postCreated = postCreated;
+        this.enabled = "async".equalsIgnoreCase(mode);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if(enabled) {
+            long interval = flushInterval.toMillis();
+            writer.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a post, or returns {@code null} when the queue is full or shutting down. Must be called
+     * inside a transaction, which is where a new block of sequence ids is fetched every so often.
+     */
+    public PendingPost offer(Long userId, String text) {
+        if(!accepting || queue.remainingCapacity() == 0) {
+            return null;
+        }
+        PendingPost post = new PendingPost(postRepository.nextId(), userId, text, LocalDateTime.now());
+        if(!queue.offer(post)) {
+            return null;
+        }
+        if(queue.size() >= batchSize && flushQueued.compareAndSet(false, true)) {
+            writer.execute(this::flush);
+        }
+        return post;
+    }
+
+    @ActivateRequestContext
+    void flush() {
+        flushQueued.set(false);
+        if(failures > 0 && System.nanoTime() - retryAt < 0) {
+            return;
+        }
+        List<PendingPost> batch = new ArrayList<>(batchSize);
+        while(next(batch) > 0) {
+            if(!write(batch)) {
+                backOff();
+                return;
+            }
+            batch.clear();
+        }
+        failures = 0;
+    }
+
+    private int next(List<PendingPost> batch) {
+        while(batch.size() < batchSize && !retries.isEmpty()) {
+            batch.add(retries.poll());
+        }
+        queue.drainTo(batch, batchSize - batch.size());
+        return batch.size();
+    }
+
+    /**
+     * @return false when posts had to be put back for a retry
+     */
+    private boolean write(List<PendingPost> batch) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> store(batch));
+            return true;
+        } catch (RuntimeException e) {
+            // one rejected post must not sink the whole batch
+            LOG.warnf(e, "Writing %d queued posts failed, retrying them one by one", batch.size());
+        }
+        for(int i = 0; i < batch.size(); i++) {
+            PendingPost post = batch.get(i);
+            try {
+                QuarkusTransaction.requiringNew().run(() -> store(List.of(post)));
+            } catch (RuntimeException single) {
+                if(permanent(single)) {
+                    LOG.errorf(single, "Dropping queued post %d of user %d, the database rejects it", post.getId(), post.getUserId());
+                    continue;
+                }
+                LOG.warnf(single, "Writing queued post %d failed, %d posts will be retried", post.getId(), batch.size() - i);
+                retries.addAll(batch.subList(i, batch.size()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Data (SQLSTATE class 22) and integrity (class 23) errors fail the same way on every retry.
+     */
+    private static boolean permanent(Throwable failure) {
+        for(Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if(cause instanceof ConstraintViolationException || cause instanceof DataException) {
+                return true;
+            }
+            if(cause instanceof SQLException sql && sql.getSQLState() != null
+                    && (sql.getSQLState().startsWith("22") || sql.getSQLState().startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void backOff() {
+        failures++;
+        long delay = Math.min(flushInterval.toNanos() << Math.min(failures, 16), MAX_BACKOFF.toNanos());
+        retryAt = System.nanoTime() + delay;
+    }
+
+    private void store(List<PendingPost> batch) {
+        postRepository.insertAll(batch);
+        batch.forEach(post -> postCreated.fire(new PostCreatedEvent(post.getId(), post.getUserId(), post.getDateTime())));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        accepting = false;
+        writer.execute(this::drain);
+        writer.shutdown();
+        try {
+            if(!writer.awaitTermination(SHUTDOWN_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+                LOG.errorf("Post ingestion didn't drain within %s, %d queued posts lost", SHUTDOWN_TIMEOUT, queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Flushes until nothing is left, waiting out the back-off between attempts.
+     */
+    private void drain() {
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        while(true) {
+            flush();
+            if(queue.isEmpty() && retries.isEmpty()) {
+                return;
+            }
+            long wait = Math.max(retryAt - System.nanoTime(), 0);
+            if(System.nanoTime() + wait - deadline > 0) {
+                List<Long> lost = new ArrayList<>();
+                retries.forEach(post -> lost.add(post.getId()));
+                queue.forEach(post -> lost.add(post.getId()));
+                LOG.errorf("Post ingestion gave up after %s, queued posts lost: %s", SHUTDOWN_TIMEOUT, lost);
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
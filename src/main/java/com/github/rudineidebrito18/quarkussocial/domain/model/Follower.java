@@ -1,21 +1,35 @@
 package com.github.rudineidebrito18.quarkussocial.domain.model;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
+@RegisterForReflection
 @Entity
-@Table(name = "followers")
+@Table(name = "followers",
+        uniqueConstraints = @UniqueConstraint(name = "uk_followers_user_follower", columnNames = {"user_id", "follower_id"}),
+        indexes = {
+                @Index(name = "idx_followers_follower_id_id", columnList = "follower_id, id"),
+                @Index(name = "idx_followers_user_id_id", columnList = "user_id, id")
+        })
 @Data
 public class Follower {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "followers_id_seq")
+    @SequenceGenerator(name = "followers_id_seq", sequenceName = "followers_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "follower_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User follower;
 }
@@ -1,18 +1,55 @@
 package com.github.rudineidebrito18.quarkussocial.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.LocalDateTime;
+
+@RegisterForReflection
 @Data
 @Entity
+@Cacheable
 @Table(name = "users")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
     @Column(name = "name")
     private String name;
     @Column(name = "age")
     private Integer age;
+    @ColumnDefault("0")
+    @Column(name = "follower_count", nullable = false)
+    private long followerCount;
+    @ColumnDefault("0")
+    @Column(name = "following_count", nullable = false)
+    private long followingCount;
+    /**
+     * Bumped on every follow and unfollow of this user, and when someone it follows is renamed; the ETag of
+     * its follower listing.
+     * <p>
+     * This and the posts version are only written by update statements, never by the entity, so a stale
+     * cached copy of a user that gets saved doesn't put an old version back. Neither is part of the user
+     * payloads.
+     */
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "followers_version", nullable = false, insertable = false, updatable = false)
+    private long followersVersion;
+    /**
+     * Bumped, with {@code postsChangedAt} stamped, whenever posts of this user are written or removed; the
+     * ETag and {@code Last-Modified} of its post listing.
+     */
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "posts_version", nullable = false, insertable = false, updatable = false)
+    private long postsVersion;
+    @JsonIgnore
+    @Column(name = "posts_changed_at", insertable = false, updatable = false)
+    private LocalDateTime postsChangedAt;
 }
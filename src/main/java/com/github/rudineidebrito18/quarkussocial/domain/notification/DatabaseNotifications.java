@@ -0,0 +1,116 @@
+package com.github.rudineidebrito18.quarkussocial.domain.notification;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The one connection per instance that listens on the channels of every {@link NotificationSubscriber}.
+ * Triggers announce committed changes on those channels whichever instance (or import) wrote them, so
+ * the in-memory state of each instance follows the tables. A dropped connection is retried every
+ * {@link #RETRY_MILLIS}; on a database other than PostgreSQL nobody is ever subscribed.
+ */
+@ApplicationScoped
+public class DatabaseNotifications {
+    private static final Logger LOG = Logger.getLogger(DatabaseNotifications.class);
+    private static final int POLL_MILLIS = 1000;
+    private static final long RETRY_MILLIS = 5000;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    private AgroalDataSource dataSource;
+    private List<NotificationSubscriber> subscribers;
+
+    @Inject
+    public DatabaseNotifications(AgroalDataSource dataSource, @Any Instance<NotificationSubscriber> subscribers) {
+        this.dataSource = dataSource;
+        this.subscribers = subscribers.stream().toList();
+    }
+
+    void onStart(@Observes StartupEvent startup) {
+        if(subscribers.isEmpty()) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "database-notifications");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    void onStop(@Observes ShutdownEvent shutdown) {
+        running = false;
+        if(listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen() {
+        while(running) {
+            boolean subscribed = false;
+            try(Connection connection = dataSource.getConnection()) {
+                if(!connection.isWrapperFor(PGConnection.class)) {
+                    LOG.info("Database notifications need PostgreSQL, changes made by other instances won't be seen");
+                    return;
+                }
+                try(Statement statement = connection.createStatement()) {
+                    for(NotificationSubscriber subscriber : subscribers) {
+                        statement.execute("listen " + subscriber.channel());
+                    }
+                }
+                subscribed = true;
+                for(NotificationSubscriber subscriber : subscribers) {
+                    subscriber.subscribed(connection);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while(running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+                    if(received != null) {
+                        deliver(connection, received);
+                    }
+                }
+            } catch(SQLException | RuntimeException e) {
+                if(running) {
+                    LOG.warn("Lost the database notifications subscription, retrying", e);
+                }
+            } finally {
+                if(subscribed) {
+                    subscribers.forEach(NotificationSubscriber::unsubscribed);
+                }
+            }
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch(InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void deliver(Connection connection, PGNotification[] received) throws SQLException {
+        for(NotificationSubscriber subscriber : subscribers) {
+            List<String> payloads = new ArrayList<>();
+            for(PGNotification notification : received) {
+                if(notification.getName().equals(subscriber.channel())) {
+                    payloads.add(notification.getParameter());
+                }
+            }
+            if(!payloads.isEmpty() && !subscriber.received(payloads)) {
+                subscriber.subscribed(connection);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.rudineidebrito18.quarkussocial.domain.notification;
+
+import io.agroal.api.AgroalPoolInterceptor;
+import io.quarkus.reactive.pg.client.PgPoolCreator;
+import io.vertx.pgclient.PgPool;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Gives every connection of this instance, JDBC and reactive, an {@code application_name} of its own. The
+ * {@code followers_changed} trigger (migration V13) ends its payloads with the name of the session that made
+ * the change, so subscribers can skip the changes this instance already applied right after committing them.
+ */
+@ApplicationScoped
+public class NotificationOrigin implements AgroalPoolInterceptor, PgPoolCreator {
+    private final String name = "quarkus-social-" + UUID.randomUUID();
+    private final String payloadSuffix = "@" + name;
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @param payload a notification payload ending in {@code @<application_name>}
+     */
+    public boolean isLocal(String payload) {
+        return payload.endsWith(payloadSuffix);
+    }
+
+    /**
+     * On every acquire rather than once, so a connection renamed by whoever used it last is tagged again;
+     * the driver only sends the {@code SET} when the name actually differs.
+     */
+    @Override
+    public void onConnectionAcquire(Connection connection) {
+        try {
+            if(connection.isWrapperFor(PGConnection.class)) {
+                connection.setClientInfo("ApplicationName", name);
+            }
+        } catch(SQLException e) {
+            throw new IllegalStateException("Could not set the application name of a connection", e);
+        }
+    }
+
+    @Override
+    public PgPool create(Input input) {
+        input.pgConnectOptionsList().forEach(options -> options.addProperty("application_name", name));
+        return PgPool.pool(input.vertx(), input.pgConnectOptionsList(), input.poolOptions());
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.rudineidebrito18.quarkussocial.domain.notification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A bean that follows one PostgreSQL notification channel through {@link DatabaseNotifications}. All callbacks
+ * run on the listener thread, one at a time.
+ */
+public interface NotificationSubscriber {
+
+    String channel();
+
+    /**
+     * Called on the listening connection once it listens on {@link #channel()}: whatever is read here is
+     * followed by every notification committed after it.
+     */
+    default void subscribed(Connection connection) throws SQLException {
+    }
+
+    /**
+     * @return false to be {@link #subscribed} again, e.g. to reload everything
+     */
+    boolean received(List<String> payloads);
+
+    /**
+     * The connection dropped; notifications are missed until the next {@link #subscribed}.
+     */
+    default void unsubscribed() {
+    }
+}
@@ -0,0 +1,220 @@
+package com.github.rudineidebrito18.quarkussocial.domain.partition;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code posts} (PostgreSQL only) in shape, at startup and every
+ * {@code social.posts.partitions.maintain-every}:
+ * <ul>
+ *     <li>the current month and the next {@code months-ahead} always have a partition, so new posts never
+ *     land in {@code posts_default}. Rows that already did are moved into the new partition as it is
+ *     attached;</li>
+ *     <li>with {@code retention-months} above zero, months older than that are detached from {@code posts}
+ *     in one catalog operation. {@code DETACH} moves them to {@code archive-schema} to be dumped or dropped
+ *     later, {@code DROP} discards them.</li>
+ * </ul>
+ * Months are counted on the application clock, the one that stamps {@code posts.dateTime} when a post is
+ * written. Every DDL statement waits at most {@code lock-timeout} for its locks and is retried on the next run
+ * otherwise, so a long query on {@code posts} never queues the whole table behind maintenance. Detaching can't
+ * be {@code CONCURRENTLY}, PostgreSQL doesn't allow it while {@code posts} has a default partition.
+ */
+@ApplicationScoped
+public class PostPartitionMaintainer {
+    private static final Logger LOG = Logger.getLogger(PostPartitionMaintainer.class);
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'posts_y'uuuu'm'MM");
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String COLUMNS = "id, post_text, dateTime, user_id";
+
+    public enum RetentionAction {
+        DETACH, DROP
+    }
+
+    private AgroalDataSource dataSource;
+    private boolean enabled;
+    private int monthsAhead;
+    private int retentionMonths;
+    private RetentionAction retentionAction;
+    private String archiveSchema;
+    private Duration lockTimeout;
+
+    @Inject
+    public PostPartitionMaintainer(AgroalDataSource dataSource,
+                                   @ConfigProperty(name = "social.posts.partitions.enabled", defaultValue = "true") boolean enabled,
+                                   @ConfigProperty(name = "social.posts.partitions.months-ahead", defaultValue = "3") int monthsAhead,
+                                   @ConfigProperty(name = "social.posts.partitions.retention-months", defaultValue = "0") int retentionMonths,
+                                   @ConfigProperty(name = "social.posts.partitions.retention-action", defaultValue = "detach") RetentionAction retentionAction,
+                                   @ConfigProperty(name = "social.posts.partitions.archive-schema", defaultValue = "posts_archive") String archiveSchema,
+                                   @ConfigProperty(name = "social.posts.partitions.lock-timeout", defaultValue = "PT5S") Duration lockTimeout) {
+        if(!IDENTIFIER.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Invalid archive schema name: " + archiveSchema);
+        }
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+        this.archiveSchema = archiveSchema;
+        this.lockTimeout = lockTimeout;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        maintain();
+    }
+
+    @Scheduled(every = "{social.posts.partitions.maintain-every}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void maintain() {
+        if(!enabled) {
+            return;
+        }
+        try(Connection connection = dataSource.getConnection()) {
+            YearMonth current = YearMonth.now();
+            List<String> existing = partitions(connection);
+
+            for(int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                String name = month.format(PARTITION_NAME);
+                if(!existing.contains(name)) {
+                    run(() -> create(connection, name, month), "create posts partition " + name);
+                }
+            }
+
+            if(retentionMonths <= 0) {
+                return;
+            }
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for(String name : existing) {
+                YearMonth month = monthOf(name);
+                if(month != null && month.isBefore(oldestKept)) {
+                    run(() -> retire(connection, name), "retire posts partition " + name);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warn("Posts partition maintenance failed, retrying on the next run", e);
+        }
+    }
+
+    private List<String> partitions(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try(Statement statement = connection.createStatement();
+            ResultSet result = statement.executeQuery("select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid"
+                    + " where i.inhparent = 'posts'::regclass")) {
+            while(result.next()) {
+                names.add(result.getString(1));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * A month with no rows in {@code posts_default} is created in place. Otherwise the partition is built
+     * next to {@code posts}, the rows are moved into it and it is attached, all in one transaction: creating
+     * it in place would fail on the default partition's rows.
+     */
+    private void create(Connection connection, String name, YearMonth month) throws SQLException {
+        String bounds = "for values from ('" + month.atDay(1) + "') to ('" + month.plusMonths(1).atDay(1) + "')";
+        String range = "dateTime >= '" + month.atDay(1) + "' and dateTime < '" + month.plusMonths(1).atDay(1) + "'";
+        inTransaction(connection, statement -> {
+            boolean stray;
+            try(ResultSet result = statement.executeQuery("select exists(select 1 from posts_default where " + range + ")")) {
+                result.next();
+                stray = result.getBoolean(1);
+            }
+            if(!stray) {
+                statement.execute("create table if not exists " + name + " partition of posts " + bounds);
+                LOG.infof("Created posts partition %s", name);
+                return;
+            }
+            statement.execute("create table " + name + " (like posts including defaults including generated)");
+            int moved = statement.executeUpdate("with moved as (delete from posts_default where " + range
+                    + " returning " + COLUMNS + ") insert into " + name + " (" + COLUMNS + ") select " + COLUMNS + " from moved");
+            statement.execute("alter table posts attach partition " + name + " " + bounds);
+            LOG.infof("Created posts partition %s with %d rows moved from posts_default", name, moved);
+        });
+    }
+
+    private void retire(Connection connection, String name) throws SQLException {
+        inTransaction(connection, statement -> statement.execute("alter table posts detach partition " + name));
+
+        // the detached posts are gone from their authors' listings
+        String touchAuthors = "update users set posts_version = posts_version + 1,"
+                + " posts_changed_at = timestamp '" + LocalDateTime.now() + "'"
+                + " where id in (select user_id from " + name + ")";
+        if(retentionAction == RetentionAction.DROP) {
+            inTransaction(connection, statement -> {
+                statement.execute(touchAuthors);
+                statement.execute("drop table " + name);
+            });
+            LOG.infof("Dropped posts partition %s", name);
+        } else {
+            inTransaction(connection, statement -> {
+                statement.execute(touchAuthors);
+                statement.execute("create schema if not exists " + archiveSchema);
+                statement.execute("alter table " + name + " set schema " + archiveSchema);
+            });
+            LOG.infof("Detached posts partition %s into %s", name, archiveSchema);
+        }
+    }
+
+    private void inTransaction(Connection connection, SqlWork work) throws SQLException {
+        connection.setAutoCommit(false);
+        try(Statement statement = connection.createStatement()) {
+            statement.execute("set local lock_timeout = " + lockTimeout.toMillis());
+            work.run(statement);
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * One failed month, typically a lock timeout, doesn't hold up the others.
+     */
+    private static void run(SqlStep step, String description) {
+        try {
+            step.run();
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not %s, retrying on the next run", description);
+        }
+    }
+
+    private static YearMonth monthOf(String partition) {
+        try {
+            return YearMonth.parse(partition, PARTITION_NAME);
+        } catch(DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlWork {
+        void run(Statement statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface SqlStep {
+        void run() throws SQLException;
+    }
+}
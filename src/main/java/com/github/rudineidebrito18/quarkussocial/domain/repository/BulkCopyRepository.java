@@ -0,0 +1,93 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves whole tables in and out as CSV through PostgreSQL's {@code COPY} protocol, on a connection of
+ * the application datasource. Rows stream straight between the HTTP body and the server, so memory use
+ * is constant whatever the table size. PostgreSQL only.
+ */
+@ApplicationScoped
+public class BulkCopyRepository {
+    private AgroalDataSource dataSource;
+
+    @Inject
+    public BulkCopyRepository(AgroalDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Appends the rows of {@code csv} (with a header line) in one transaction, so all or nothing, then moves
+     * the table's sequence past the imported ids. Followers and posts are staged first so the users they belong
+     * to get their {@code followers_version} or {@code posts_version} bumped, as a write through the API would.
+     * Returns the number of rows imported.
+     */
+    public long importCsv(BulkTable table, InputStream csv) throws SQLException, IOException {
+        try(Connection connection = dataSource.getConnection()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            connection.setAutoCommit(false);
+            try(Statement statement = connection.createStatement()) {
+                long rows;
+                if(table == BulkTable.FOLLOWERS) {
+                    // no FollowChangedEvent follows an import, so its edges must not be announced as this
+                    // instance's or its follow graph and timelines would skip them
+                    statement.execute("SET LOCAL application_name = 'bulk-import'");
+                    statement.execute("CREATE TEMP TABLE followers_import (LIKE followers) ON COMMIT DROP");
+                    rows = copyIn(copy, "followers_import", table, csv);
+                    statement.execute("INSERT INTO followers (" + table.columns() + ") SELECT " + table.columns() + " FROM followers_import");
+                    statement.execute("UPDATE users SET followers_version = followers_version + 1"
+                            + " WHERE id IN (SELECT user_id FROM followers_import)");
+                } else if(table == BulkTable.POSTS) {
+                    statement.execute("CREATE TEMP TABLE posts_import (LIKE posts) ON COMMIT DROP");
+                    rows = copyIn(copy, "posts_import", table, csv);
+                    statement.execute("INSERT INTO posts (" + table.columns() + ") SELECT " + table.columns() + " FROM posts_import");
+                    statement.execute("UPDATE users SET posts_version = posts_version + 1, posts_changed_at = localtimestamp"
+                            + " WHERE id IN (SELECT user_id FROM posts_import)");
+                } else {
+                    rows = copyIn(copy, table.table(), table, csv);
+                }
+                // the pooled optimizer hands out the increment_by ids up to each value it fetches, so the next
+                // value must be at least an increment past the imported ids. Blocks instances already fetched
+                // aren't checked: import ids below the sequence's last_value only while nothing writes the table
+                statement.execute("SELECT setval('" + table.sequence() + "', greatest("
+                        + "(SELECT coalesce(max(id), 0) FROM " + table.table() + ")"
+                        + " + (SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema()"
+                        + " AND sequencename = '" + table.sequence() + "'), "
+                        + "(SELECT last_value FROM " + table.sequence() + ")))");
+                connection.commit();
+                return rows;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static long copyIn(CopyManager copy, String target, BulkTable table, InputStream csv) throws SQLException, IOException {
+        return copy.copyIn("COPY " + target + " (" + table.columns() + ") FROM STDIN WITH (FORMAT csv, HEADER true)", csv);
+    }
+
+    /**
+     * Writes the whole table as CSV with a header line, in id order. Returns the number of rows exported.
+     */
+    public long exportCsv(BulkTable table, OutputStream csv) throws SQLException, IOException {
+        try(Connection connection = dataSource.getConnection()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            return copy.copyOut("COPY (SELECT " + table.columns() + " FROM " + table.table() + " ORDER BY id)"
+                    + " TO STDOUT WITH (FORMAT csv, HEADER true)", csv);
+        }
+    }
+}
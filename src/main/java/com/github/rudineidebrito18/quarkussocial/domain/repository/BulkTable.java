@@ -0,0 +1,44 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository;
+
+/**
+ * Tables open to bulk import/export, with the columns carried in their CSV form, in order.
+ */
+public enum BulkTable {
+    USERS("users", "users_id_seq", "id, name, age, follower_count, following_count"),
+    POSTS("posts", "posts_id_seq", "id, post_text, dateTime, user_id"),
+    FOLLOWERS("followers", "followers_id_seq", "id, user_id, follower_id");
+
+    private final String table;
+    private final String sequence;
+    private final String columns;
+
+    BulkTable(String table, String sequence, String columns) {
+        this.table = table;
+        this.sequence = sequence;
+        this.columns = columns;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String sequence() {
+        return sequence;
+    }
+
+    public String columns() {
+        return columns;
+    }
+
+    /**
+     * Case-insensitive lookup by table name; {@code null} for anything else.
+     */
+    public static BulkTable of(String name) {
+        for(BulkTable table : values()) {
+            if(table.table.equalsIgnoreCase(name)) {
+                return table;
+            }
+        }
+        return null;
+    }
+}
@@ -1,21 +1,53 @@
 package com.github.rudineidebrito18.quarkussocial.domain.repository;
 
+import com.github.rudineidebrito18.quarkussocial.domain.graph.FollowGraph;
 import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
 import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowingResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.RelationshipResponse;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.query.NativeQuery;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class FollowerRepository implements PanacheRepository<Follower> {
+    private FollowGraph followGraph;
 
+    @Inject
+    public FollowerRepository(FollowGraph followGraph) {
+        this.followGraph = followGraph;
+    }
+
+    /**
+     * Answered by the {@link FollowGraph} once it is loaded; only while it warms up (or without PostgreSQL)
+     * does the check go to the database.
+     */
+    @Timed(value = "social.repository", histogram = true)
     public boolean follows(User follower, User user) {
+        if(follower != null && user != null && followGraph.isLoaded()) {
+            return followGraph.follows(follower.getId(), user.getId());
+        }
+
 //        Map<String, Object> params = new HashMap<>();
 //        params.put("follower", follower);
 //        params.put("user", user);
@@ -28,14 +60,203 @@ public class FollowerRepository implements PanacheRepository<Follower> {
         return result.isPresent();
     }
 
+    @Timed(value = "social.repository", histogram = true)
     public List<Follower> findByUser(Long userId) {
         PanacheQuery<Follower> query = find("user.id", userId);
         return query.list();
     }
 
-    public void deleteByFollowerAndUser(Long followerId, Long userId) {
+    /**
+     * Followers of a user as {@link FollowerResponse}s in a single join, without hydrating
+     * {@link Follower} entities or their users.
+     */
+    public List<FollowerResponse> findResponsesByUser(Long userId) {
+        return getEntityManager()
+                .createQuery("select new com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerResponse(f.id, u.name)"
+                        + " from Follower f join f.follower u where f.user.id = :userId", FollowerResponse.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    /**
+     * Accounts {@code followerId} follows, in keyset pages on the edge id, served by the
+     * {@code (follower_id, id)} index. With {@code mutualOnly}, only accounts that follow back.
+     */
+    public List<FollowingResponse> findFollowingPage(Long followerId, long afterId, int limit, boolean mutualOnly) {
+        String jpql = "select new com.github.rudineidebrito18.quarkussocial.rest.dto.FollowingResponse(f.id, u.id, u.name)"
+                + " from Follower f join f.user u where f.follower.id = :followerId and f.id > :afterId";
+        if(mutualOnly) {
+            jpql += " and exists (select 1 from Follower back where back.user.id = :followerId and back.follower.id = u.id)";
+        }
+        jpql += " order by f.id";
+
+        return getEntityManager().createQuery(jpql, FollowingResponse.class)
+                .setParameter("followerId", followerId)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Both edge directions between {@code userId} and each of {@code otherIds}, read in a single query.
+     * Accounts without any edge come back with both flags off.
+     */
+    public Map<Long, RelationshipResponse> findRelationships(Long userId, Collection<Long> otherIds) {
+        Map<Long, RelationshipResponse> relationships = new LinkedHashMap<>();
+        otherIds.forEach(id -> relationships.put(id, new RelationshipResponse(id, false, false)));
+
+        getEntityManager()
+                .createQuery("select f.user.id, f.follower.id from Follower f"
+                        + " where (f.follower.id = :userId and f.user.id in :otherIds)"
+                        + " or (f.user.id = :userId and f.follower.id in :otherIds)", Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("otherIds", otherIds)
+                .getResultStream()
+                .forEach(row -> {
+                    if(userId.equals(row[1])) {
+                        relationships.get((Long) row[0]).setFollowing(true);
+                    } else {
+                        relationships.get((Long) row[1]).setFollowedBy(true);
+                    }
+                });
+        return relationships;
+    }
+
+    /**
+     * Keyset page of {@link #findResponsesByUser}, ordered by edge id and served by the
+     * {@code (user_id, id)} index.
+     */
+    public List<FollowerResponse> findResponsesPageByUser(Long userId, long afterId, int limit) {
+        return getEntityManager()
+                .createQuery("select new com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerResponse(f.id, u.name)"
+                        + " from Follower f join f.follower u where f.user.id = :userId and f.id > :afterId"
+                        + " order by f.id", FollowerResponse.class)
+                .setParameter("userId", userId)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public Map<Long, Long> countFollowersByUsers(Collection<Long> userIds) {
+        return getEntityManager()
+                .createQuery("select f.user.id, count(f) from Follower f where f.user.id in :userIds group by f.user.id", Object[].class)
+                .setParameter("userIds", userIds)
+                .getResultStream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+
+    public Set<Long> findFollowedAmong(Long followerId, Collection<Long> userIds) {
+        return getEntityManager()
+                .createQuery("select f.user.id from Follower f where f.follower.id = :followerId and f.user.id in :userIds", Long.class)
+                .setParameter("followerId", followerId)
+                .setParameter("userIds", userIds)
+                .getResultStream()
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Inserts the edge unless it already exists, leaning on the unique {@code (user_id, follower_id)}
+     * constraint instead of a prior lookup, so concurrent follows can neither race nor duplicate rows.
+     * The statement is declared as touching {@link Follower} only, so Hibernate doesn't have to flush and
+     * invalidate every entity and second-level cache region around it. Returns whether a row was written.
+     */
+    public boolean insertIfAbsent(Long followerId, Long userId) {
+        String nextId = getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSelectSequenceNextValString("followers_id_seq");
+
+        int inserted = getEntityManager()
+                .createNativeQuery("insert into followers (id, user_id, follower_id)"
+                        + " values (" + nextId + ", :userId, :followerId) on conflict do nothing")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Follower.class)
+                .setParameter("userId", userId)
+                .setParameter("followerId", followerId)
+                .executeUpdate();
+        return inserted > 0;
+    }
+
+    /**
+     * {@link #insertIfAbsent} for one edge per user, in a single multi-row statement. Ids are taken from
+     * the entity's pooled generator beforehand, so when some rows are skipped (already followed, or a
+     * concurrent follow got there first) one more query tells which ones this statement wrote. Returns the
+     * users whose edge was written.
+     */
+    public Set<Long> insertBatch(Long followerId, Collection<Long> userIds) {
+        var session = getEntityManager().unwrap(SharedSessionContractImplementor.class);
+        var generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Follower.class)
+                .getGenerator();
+
+        List<Long> users = List.copyOf(userIds);
+        List<Long> ids = new ArrayList<>(users.size());
+        StringJoiner rows = new StringJoiner(", ");
+        for(int i = 0; i < users.size(); i++) {
+            ids.add((Long) generator.generate(session, null));
+            rows.add("(?" + (3 * i + 1) + ", ?" + (3 * i + 2) + ", ?" + (3 * i + 3) + ")");
+        }
+
+        NativeQuery<?> insert = getEntityManager()
+                .createNativeQuery("insert into followers (id, user_id, follower_id) values " + rows
+                        + " on conflict do nothing")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Follower.class);
+        for(int i = 0; i < users.size(); i++) {
+            insert.setParameter(3 * i + 1, ids.get(i));
+            insert.setParameter(3 * i + 2, users.get(i));
+            insert.setParameter(3 * i + 3, followerId);
+        }
+        int inserted = insert.executeUpdate();
+        if(inserted == users.size()) {
+            return new HashSet<>(users);
+        }
+        if(inserted == 0) {
+            return new HashSet<>();
+        }
+        return getEntityManager()
+                .createQuery("select f.user.id from Follower f where f.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toSet());
+    }
+
+    public long deleteByFollowerAndUsers(Long followerId, Collection<Long> userIds) {
+        Map<String, Object> params = Parameters.with("userIds", userIds).and("followerId", followerId).map();
+
+        return delete("follower.id = :followerId and user.id in :userIds", params);
+    }
+
+    public Map<Long, Long> countFollowersPerUser() {
+        return groupedCount("select f.user.id, count(f) from Follower f group by f.user.id");
+    }
+
+    public Map<Long, Long> countFollowingPerUser() {
+        return groupedCount("select f.follower.id, count(f) from Follower f group by f.follower.id");
+    }
+
+    private Map<Long, Long> groupedCount(String query) {
+        return getEntityManager()
+                .createQuery(query, Object[].class)
+                .getResultStream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+
+    public Map<Long, List<Long>> findFollowerIdsByUsers(Collection<Long> userIds) {
+        return getEntityManager()
+                .createQuery("select f.user.id, f.follower.id from Follower f where f.user.id in :userIds", Object[].class)
+                .setParameter("userIds", userIds)
+                .getResultStream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> (Long) row[1], Collectors.toList())));
+    }
+
+    @Timed(value = "social.repository", histogram = true)
+    public long deleteByFollowerAndUser(Long followerId, Long userId) {
         Map<String, Object> params = Parameters.with("userId", userId).and("followerId", followerId).map();
 
-        delete("follower.id = :followerId and user.id = :userId", params);
+        return delete("follower.id = :followerId and user.id = :userId", params);
     }
 }
@@ -1,9 +1,230 @@
 package com.github.rudineidebrito18.quarkussocial.domain.repository;
 
+import com.github.rudineidebrito18.quarkussocial.domain.ingestion.PendingPost;
 import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.SearchPostResponse;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.Session;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.query.NativeQuery;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class PostRepository implements PanacheRepository<Post> {
+
+    private static final Sort TIMELINE_ORDER = Sort.by("dateTime", Sort.Direction.Descending)
+            .and("id", Sort.Direction.Descending);
+    // key of the transaction's set of authors whose posts version is bumped before it commits
+    private static final Object TOUCHED_AUTHORS = new Object();
+
+    private TransactionSynchronizationRegistry transactions;
+
+    @Inject
+    public PostRepository(TransactionSynchronizationRegistry transactions) {
+        this.transactions = transactions;
+    }
+
+    /**
+     * Keyset page of a user's posts, newest first, selected straight into {@link PostResponse} so neither
+     * the posts nor their author are loaded as entities. Passing the {@code dateTime} and {@code id} of the
+     * last post already seen resumes right after it, so every page is a range scan on the
+     * {@code (user_id, dateTime, id)} index regardless of how deep the client is. The redundant
+     * {@code dateTime <=} bound lets PostgreSQL skip the monthly partitions of {@code posts} newer than the
+     * cursor; the first page reads the newest partitions first and stops once it has {@code limit} rows.
+     * A {@code limit} of zero or less returns every post.
+     */
+    public List<PostResponse> findResponsesByUser(Long userId, LocalDateTime afterDateTime, Long afterId, int limit) {
+        String jpql = "select new com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse(p.id, p.text, p.dateTime)"
+                + " from Post p where p.user.id = :userId";
+        if(afterDateTime != null) {
+            jpql += " and p.dateTime <= :dateTime"
+                    + " and (p.dateTime < :dateTime or (p.dateTime = :dateTime and p.id < :id))";
+        }
+        jpql += " order by p.dateTime desc, p.id desc";
+
+        TypedQuery<PostResponse> query = getEntityManager().createQuery(jpql, PostResponse.class)
+                .setParameter("userId", userId);
+        if(afterDateTime != null) {
+            query.setParameter("dateTime", afterDateTime).setParameter("id", afterId);
+        }
+        if(limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Also bumps the author's posts version, like every other way a post is written: once per transaction
+     * and author, however many posts it persists, right before it commits. Hibernate has flushed by then,
+     * so an author persisted in the same transaction is already there.
+     */
+    @Override
+    public void persist(Post post) {
+        getEntityManager().persist(post);
+        touchedAuthors().add(post.getUser().getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> touchedAuthors() {
+        Set<Long> authors = (Set<Long>) transactions.getResource(TOUCHED_AUTHORS);
+        if(authors == null) {
+            Set<Long> touched = new HashSet<>();
+            transactions.putResource(TOUCHED_AUTHORS, touched);
+            getEntityManager().unwrap(SessionImplementor.class).getActionQueue()
+                    .registerProcess((BeforeTransactionCompletionProcess) session -> touchAuthors(touched));
+            authors = touched;
+        }
+        return authors;
+    }
+
+    /**
+     * Reads the author's posts version straight from {@code users}, bypassing both caches; {@code null} for an
+     * unknown user.
+     */
+    public PostStats findStats(Long userId) {
+        return getEntityManager()
+                .createQuery("select new com.github.rudineidebrito18.quarkussocial.domain.repository.PostStats(u.postsVersion, u.postsChangedAt)"
+                        + " from User u where u.id = :userId", PostStats.class)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Bumps the posts version of these authors, in the caller's transaction. Plain JDBC like
+     * {@link #insertAll}, so Hibernate doesn't drop its cached users for a column it never reads from them.
+     */
+    public void touchAuthors(Collection<Long> userIds) {
+        if(userIds.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("update users set posts_version = posts_version + 1, posts_changed_at = ?"
+                + " where id in (");
+        for(int i = 0; i < userIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try(PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                int index = 1;
+                statement.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now()));
+                for(Long userId : userIds) {
+                    statement.setLong(index++, userId);
+                }
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Draws an id from the generator Hibernate uses for {@link Post}, so rows written by
+     * {@link #insertAll} never collide with persisted ones.
+     */
+    public Long nextId() {
+        SharedSessionContractImplementor session = getEntityManager().unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(Post.class)
+                .getGenerator();
+        return (Long) generator.generate(session, null, null, EventType.INSERT);
+    }
+
+    /**
+     * Writes posts whose ids are already assigned as a single multi-row insert, and bumps their authors'
+     * posts version.
+     */
+    public void insertAll(List<PendingPost> posts) {
+        StringBuilder sql = new StringBuilder("insert into posts (id, post_text, dateTime, user_id) values ");
+        for(int i = 0; i < posts.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+        }
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try(PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                int index = 1;
+                for(PendingPost post : posts) {
+                    statement.setLong(index++, post.getId());
+                    statement.setString(index++, post.getText());
+                    statement.setTimestamp(index++, Timestamp.valueOf(post.getDateTime()));
+                    statement.setLong(index++, post.getUserId());
+                }
+                statement.executeUpdate();
+            }
+        });
+        touchAuthors(posts.stream().map(PendingPost::getUserId).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Full-text search over the posts of authors {@code readerId} follows, best match first, in keyset
+     * pages on {@code (rank, id)}. Matching goes through the GIN index on {@code posts.search_vector}
+     * and {@code query} is parsed with {@code websearch_to_tsquery}, so any user input is valid.
+     * PostgreSQL only.
+     */
+    @SuppressWarnings("unchecked")
+    public List<SearchPostResponse> search(Long readerId, String query, Float afterRank, Long afterId, int limit) {
+        String sql = "select p.id as id, p.user_id as user_id, p.post_text as post_text, p.dateTime as date_time,"
+                + " ts_rank(p.search_vector, q.query) as score"
+                + " from posts p"
+                + " join followers f on f.user_id = p.user_id and f.follower_id = :readerId"
+                + " cross join websearch_to_tsquery('simple', :query) as q(query)"
+                + " where p.search_vector @@ q.query";
+        if(afterRank != null) {
+            sql += " and (ts_rank(p.search_vector, q.query), p.id) < (cast(:afterRank as real), :afterId)";
+        }
+        sql += " order by score desc, p.id desc";
+
+        NativeQuery<Object[]> nativeQuery = getEntityManager().createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("user_id", Long.class)
+                .addScalar("post_text", String.class)
+                .addScalar("date_time", LocalDateTime.class)
+                .addScalar("score", Float.class);
+        nativeQuery.setParameter("readerId", readerId).setParameter("query", query);
+        if(afterRank != null) {
+            nativeQuery.setParameter("afterRank", afterRank).setParameter("afterId", afterId);
+        }
+        return nativeQuery.setMaxResults(limit)
+                .getResultStream()
+                .map(row -> new SearchPostResponse((Long) row[0], (Long) row[1], (String) row[2],
+                        (LocalDateTime) row[3], (Float) row[4]))
+                .toList();
+    }
+
+    public List<Post> findByIds(Collection<Long> ids) {
+        return list("id in ?1", TIMELINE_ORDER, ids);
+    }
+
+    /**
+     * Newest posts of every account the reader follows, optionally restricted to some authors.
+     * This is the fan-out-on-read path of the home feed.
+     */
+    public List<Post> findRecentFollowedBy(Long readerId, Collection<Long> authorIds, int limit) {
+        String query = "user.id in (select f.user.id from Follower f where f.follower.id = :readerId)";
+        var params = Parameters.with("readerId", readerId);
+        if(authorIds != null) {
+            query += " and user.id in :authorIds";
+            params = params.and("authorIds", authorIds);
+        }
+        return find(query, TIMELINE_ORDER, params.map()).range(0, limit - 1).list();
+    }
 }
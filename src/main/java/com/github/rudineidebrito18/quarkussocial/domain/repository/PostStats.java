@@ -0,0 +1,18 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's {@code postsVersion} and {@code postsChangedAt}, which move whenever a post is added or removed.
+ */
+@RegisterForReflection
+@Data
+@AllArgsConstructor
+public class PostStats {
+    private long version;
+    private LocalDateTime lastModified;
+}
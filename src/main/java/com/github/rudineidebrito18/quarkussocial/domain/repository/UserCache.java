@@ -0,0 +1,106 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.rudineidebrito18.quarkussocial.domain.event.UserChangedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.routing.DataSourceRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.arc.Arc;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache in front of {@link UserRepository#findById} for the existence checks at the
+ * start of most requests. Entries are detached copies shared between requests: use them to check
+ * existence or as a reference for a new association, never modify them, and load the user from the
+ * repository when current counters are needed. Misses are not cached, and entries are dropped once
+ * a {@link UserChangedEvent} transaction completes. Users read from the replica are returned but not
+ * cached, since the replica may not have the latest write yet.
+ * <p>
+ * A read that raced with a change could otherwise put the old row back after it was dropped. Every drop
+ * bumps a generation (striped by id), and a loaded user is only cached if its generation didn't move while
+ * it was read; the check and the put run under the same per-key lock as the drop. Hit and miss counts are published as
+ * {@code cache.gets{cache=users}}.
+ */
+@ApplicationScoped
+public class UserCache {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private Cache<Long, User> cache;
+    private UserRepository repository;
+    private DataSourceRouting routing;
+
+    @Inject
+    public UserCache(UserRepository repository,
+                     DataSourceRouting routing,
+                     MeterRegistry registry,
+                     @ConfigProperty(name = "social.user-cache.maximum-size", defaultValue = "10000") long maximumSize,
+                     @ConfigProperty(name = "social.user-cache.expire-after-write", defaultValue = "PT5M") Duration expireAfterWrite) {
+        this.repository = repository;
+        this.routing = routing;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "users");
+    }
+
+    public User findById(Long id) {
+        if(id == null) {
+            return null;
+        }
+        User cached = cache.getIfPresent(id);
+        if(cached != null) {
+            return cached;
+        }
+        long generation = generations.get(stripe(id));
+        User user = repository.findById(id);
+        if(user == null) {
+            return null;
+        }
+        User copy = copyOf(user);
+        if(!readsFromReplica()) {
+            cache.asMap().compute(id, (key, current) -> generations.get(stripe(key)) == generation ? copy : current);
+        }
+        return copy;
+    }
+
+    public void invalidate(Long id) {
+        cache.asMap().compute(id, (key, current) -> {
+            generations.incrementAndGet(stripe(key));
+            return null;
+        });
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    void onUserChanged(@Observes(during = TransactionPhase.AFTER_COMPLETION) UserChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    private boolean readsFromReplica() {
+        return Arc.container().requestContext().isActive() && routing.isReplica();
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setAge(user.getAge());
+        copy.setFollowerCount(user.getFollowerCount());
+        copy.setFollowingCount(user.getFollowingCount());
+        return copy;
+    }
+}
@@ -2,8 +2,137 @@ package com.github.rudineidebrito18.quarkussocial.domain.repository;
 
 import com.github.rudineidebrito18.quarkussocial.domain.model.User;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Cache;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
+
+    /**
+     * Moves the denormalized counters of both ends of a follow edge by {@code delta}
+     * with in-place updates, so concurrent follows never lose an increment. Also bumps
+     * the followed user's {@code followersVersion}.
+     */
+    public void adjustFollowCounters(Long followerId, Long userId, long delta) {
+        adjustFollowCounters(followerId, List.of(userId), delta);
+    }
+
+    /**
+     * Counter maintenance for a batch of edges that share the same follower. Plain JDBC like
+     * {@code PostRepository#touchAuthors}: a bulk update through Hibernate would drop every cached user,
+     * this drops only the ones it changed, once the transaction completes.
+     */
+    public void adjustFollowCounters(Long followerId, Collection<Long> userIds, long delta) {
+        StringBuilder sql = new StringBuilder("update users set follower_count = follower_count + ?,"
+                + " followers_version = followers_version + 1 where id in (");
+        for(int i = 0; i < userIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try(PreparedStatement followed = connection.prepareStatement(sql.toString());
+                PreparedStatement follower = connection.prepareStatement(
+                        "update users set following_count = following_count + ? where id = ?")) {
+                int index = 1;
+                followed.setLong(index++, delta);
+                for(Long userId : userIds) {
+                    followed.setLong(index++, userId);
+                }
+                followed.executeUpdate();
+
+                follower.setLong(1, delta * userIds.size());
+                follower.setLong(2, followerId);
+                follower.executeUpdate();
+            }
+        });
+
+        List<Long> changed = new ArrayList<>(userIds);
+        changed.add(followerId);
+        evictAfterCompletion(changed);
+    }
+
+    /**
+     * Bumps {@code followersVersion} of every user {@code followerId} follows: their follower listings
+     * show its name. Plain JDBC, and nothing to evict: the version is always read straight from the table.
+     */
+    public void touchFollowed(Long followerId) {
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try(PreparedStatement statement = connection.prepareStatement("update users"
+                    + " set followers_version = followers_version + 1"
+                    + " where id in (select user_id from followers where follower_id = ?)")) {
+                statement.setLong(1, followerId);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    private void evictAfterCompletion(Collection<Long> userIds) {
+        Cache cache = getEntityManager().getEntityManagerFactory().getCache();
+        getEntityManager().unwrap(SessionImplementor.class).getActionQueue()
+                .registerProcess((success, session) -> userIds.forEach(id -> cache.evict(User.class, id)));
+    }
+
+    /**
+     * Reads the version straight from the table, bypassing both caches; {@code null} for an unknown user.
+     */
+    public Long findFollowersVersion(Long userId) {
+        return getEntityManager()
+                .createQuery("select u.followersVersion from User u where u.id = :id", Long.class)
+                .setParameter("id", userId)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return getEntityManager()
+                .createQuery("select u.id from User u where u.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Page {@code page} of {@code size} users in id order, plus the first user of the next page (if any) so
+     * the caller can tell whether there is one.
+     */
+    public List<User> findPage(int page, int size) {
+        int first = (int) Math.min((long) page * size, Integer.MAX_VALUE - size);
+        return findAll(Sort.by("id")).range(first, first + size).list();
+    }
+
+    public List<User> findAfterId(long afterId, int limit) {
+        return find("id > ?1", Sort.by("id"), afterId).range(0, limit - 1).list();
+    }
+
+    /**
+     * Walks every user in id order through a forward-only cursor, detaching each row once it
+     * has been handed to the consumer so the session never grows. Must run inside a transaction.
+     */
+    public void scrollAll(int fetchSize, Consumer<User> consumer) {
+        Session session = getEntityManager().unwrap(Session.class);
+        try(ScrollableResults<User> results = session.createQuery("from User order by id", User.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while(results.next()) {
+                User user = results.get();
+                consumer.accept(user);
+                session.detach(user);
+            }
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository.reactive;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ServiceUnavailableException;
+import io.vertx.mutiny.pgclient.PgPool;
+
+/**
+ * Access to the non-blocking PostgreSQL pool behind the {@code /reactive} endpoints. The pool only
+ * exists when the default datasource is PostgreSQL with its reactive client enabled (not in the H2
+ * test profile), in which case those endpoints answer 503.
+ */
+@ApplicationScoped
+public class ReactiveDatabase {
+    private Instance<PgPool> pool;
+
+    @Inject
+    public ReactiveDatabase(Instance<PgPool> pool) {
+        this.pool = pool;
+    }
+
+    public PgPool pool() {
+        if(!pool.isResolvable()) {
+            throw new ServiceUnavailableException("Reactive datasource is not configured");
+        }
+        return pool.get();
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository.reactive;
+
+import com.github.rudineidebrito18.quarkussocial.domain.graph.FollowGraph;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerResponse;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@code FollowerRepository}. Follow checks are answered by the in-memory
+ * {@link FollowGraph} once it is loaded, so they never leave the event loop.
+ */
+@ApplicationScoped
+public class ReactiveFollowerRepository {
+    private ReactiveDatabase database;
+    private FollowGraph followGraph;
+
+    @Inject
+    public ReactiveFollowerRepository(ReactiveDatabase database, FollowGraph followGraph) {
+        this.database = database;
+        this.followGraph = followGraph;
+    }
+
+    public Uni<Boolean> follows(Long followerId, Long userId) {
+        if(followGraph.isLoaded()) {
+            return Uni.createFrom().item(followGraph.follows(followerId, userId));
+        }
+        return follows(database.pool(), followerId, userId);
+    }
+
+    private Uni<Boolean> follows(SqlClient client, Long followerId, Long userId) {
+        return client.preparedQuery("select 1 from followers where follower_id = $1 and user_id = $2 limit 1")
+                .execute(Tuple.of(followerId, userId))
+                .map(rows -> rows.iterator().hasNext());
+    }
+
+    public Uni<List<FollowerResponse>> findResponsesByUser(Long userId) {
+        return database.pool()
+                .preparedQuery("select f.id, u.name from followers f join users u on u.id = f.follower_id"
+                        + " where f.user_id = $1")
+                .execute(Tuple.of(userId))
+                .map(ReactiveFollowerRepository::toResponses);
+    }
+
+    /**
+     * See {@code FollowerRepository#findResponsesPageByUser}.
+     */
+    public Uni<List<FollowerResponse>> findResponsesPageByUser(Long userId, long afterId, int limit) {
+        return database.pool()
+                .preparedQuery("select f.id, u.name from followers f join users u on u.id = f.follower_id"
+                        + " where f.user_id = $1 and f.id > $2 order by f.id limit $3")
+                .execute(Tuple.of(userId, afterId, limit))
+                .map(ReactiveFollowerRepository::toResponses);
+    }
+
+    /**
+     * See {@code FollowerRepository#insertIfAbsent}; emits whether a row was written.
+     */
+    public Uni<Boolean> insertIfAbsent(SqlClient client, Long followerId, Long userId) {
+        return client.preparedQuery("insert into followers (id, user_id, follower_id)"
+                        + " values (nextval('followers_id_seq'), $1, $2) on conflict do nothing")
+                .execute(Tuple.of(userId, followerId))
+                .map(rows -> rows.rowCount() > 0);
+    }
+
+    public Uni<Integer> deleteByFollowerAndUser(SqlClient client, Long followerId, Long userId) {
+        return client.preparedQuery("delete from followers where follower_id = $1 and user_id = $2")
+                .execute(Tuple.of(followerId, userId))
+                .map(rows -> rows.rowCount());
+    }
+
+    private static List<FollowerResponse> toResponses(RowSet<Row> rows) {
+        List<FollowerResponse> followers = new ArrayList<>(rows.size());
+        for(Row row : rows) {
+            followers.add(new FollowerResponse(row.getLong("id"), row.getString("name")));
+        }
+        return followers;
+    }
+}
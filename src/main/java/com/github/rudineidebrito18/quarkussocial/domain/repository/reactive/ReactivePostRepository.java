@@ -0,0 +1,69 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository.reactive;
+
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@code PostRepository}, with the same timeline order and keyset rules.
+ */
+@ApplicationScoped
+public class ReactivePostRepository {
+    private ReactiveDatabase database;
+
+    @Inject
+    public ReactivePostRepository(ReactiveDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Emits the new post. The author's posts version is bumped in the same transaction, as
+     * {@code PostRepository#touchAuthors} does.
+     */
+    public Uni<PostResponse> persist(Long userId, String text) {
+        LocalDateTime now = LocalDateTime.now();
+        return database.pool().withTransaction(connection -> connection
+                .preparedQuery("insert into posts (id, post_text, datetime, user_id)"
+                        + " values (nextval('posts_id_seq'), $1, $2, $3) returning id")
+                .execute(Tuple.of(text, now, userId))
+                .map(rows -> new PostResponse(rows.iterator().next().getLong("id"), text, now))
+                .call(() -> connection
+                        .preparedQuery("update users set posts_version = posts_version + 1, posts_changed_at = $1"
+                                + " where id = $2")
+                        .execute(Tuple.of(now, userId))));
+    }
+
+    /**
+     * See {@code PostRepository#findResponsesByUser}, including why the cursor is also a plain {@code datetime}
+     * bound; a {@code limit} of zero or less returns every post.
+     */
+    public Uni<List<PostResponse>> findResponsesByUser(Long userId, LocalDateTime afterDateTime, Long afterId,
+                                                       int limit) {
+        String sql = "select id, post_text, datetime from posts where user_id = $1";
+        Tuple params = Tuple.of(userId);
+        if(afterDateTime != null) {
+            sql += " and datetime <= $2 and (datetime, id) < ($2, $3)";
+            params.addLocalDateTime(afterDateTime).addLong(afterId);
+        }
+        sql += " order by datetime desc, id desc";
+        if(limit > 0) {
+            sql += " limit " + limit;
+        }
+
+        return database.pool().preparedQuery(sql).execute(params).map(rows -> {
+            List<PostResponse> posts = new ArrayList<>(rows.size());
+            for(Row row : rows) {
+                posts.add(new PostResponse(row.getLong("id"), row.getString("post_text"),
+                        row.getLocalDateTime("datetime")));
+            }
+            return posts;
+        });
+    }
+}
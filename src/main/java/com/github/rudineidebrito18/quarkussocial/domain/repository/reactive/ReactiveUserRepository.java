@@ -0,0 +1,130 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository.reactive;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@code UserRepository}, over the same {@code users} table.
+ * <p>
+ * Hibernate never sees these writes, so its second-level copy of a changed user is evicted here once the
+ * write is done; {@link #evict} does the same for writes made inside a caller's transaction, after it commits.
+ * Application caches are kept in step by the same events the blocking resources fire.
+ */
+@ApplicationScoped
+public class ReactiveUserRepository {
+    private static final String COLUMNS = "id, name, age, follower_count, following_count";
+
+    private ReactiveDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    public ReactiveUserRepository(ReactiveDatabase database, EntityManagerFactory entityManagerFactory) {
+        this.database = database;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Emits {@code null} when there is no such user.
+     */
+    public Uni<User> findById(Long id) {
+        return database.pool()
+                .preparedQuery("select " + COLUMNS + " from users where id = $1")
+                .execute(Tuple.of(id))
+                .map(rows -> rows.iterator().hasNext() ? toUser(rows.iterator().next()) : null);
+    }
+
+    public Uni<List<User>> findAfterId(long afterId, int limit) {
+        return database.pool()
+                .preparedQuery("select " + COLUMNS + " from users where id > $1 order by id limit $2")
+                .execute(Tuple.of(afterId, limit))
+                .map(ReactiveUserRepository::toUsers);
+    }
+
+    /**
+     * Takes the id straight from {@code users_id_seq}; each call consumes a whole block of the pooled
+     * sequence, which never overlaps the blocks Hibernate hands out.
+     */
+    public Uni<User> persist(String name, Integer age) {
+        return database.pool()
+                .preparedQuery("insert into users (id, name, age, follower_count, following_count)"
+                        + " values (nextval('users_id_seq'), $1, $2, 0, 0) returning " + COLUMNS)
+                .execute(Tuple.of(name, age))
+                .map(rows -> toUser(rows.iterator().next()));
+    }
+
+    /**
+     * Also bumps the {@code followers_version} of everyone the user follows, as {@code UserRepository#touchFollowed}
+     * does: their follower listings show its name.
+     */
+    public Uni<Boolean> update(Long id, String name, Integer age) {
+        return database.pool().withTransaction(connection -> connection
+                        .preparedQuery("update users set name = $1, age = $2 where id = $3")
+                        .execute(Tuple.of(name, age, id))
+                        .map(rows -> rows.rowCount() > 0)
+                        .call(found -> found
+                                ? connection.preparedQuery("update users set followers_version = followers_version + 1"
+                                                + " where id in (select user_id from followers where follower_id = $1)")
+                                        .execute(Tuple.of(id))
+                                : Uni.createFrom().voidItem()))
+                .invoke(() -> evict(id));
+    }
+
+    public Uni<Boolean> delete(Long id) {
+        return database.pool()
+                .preparedQuery("delete from users where id = $1")
+                .execute(Tuple.of(id))
+                .map(rows -> rows.rowCount() > 0)
+                .invoke(() -> evict(id));
+    }
+
+    /**
+     * Same in-place counter update as {@code UserRepository#adjustFollowCounters}, on the caller's
+     * connection so it joins its transaction. {@link #evict} both users once that transaction commits.
+     */
+    public Uni<Void> adjustFollowCounters(SqlClient client, Long followerId, Long userId, long delta) {
+        return client.preparedQuery("update users set follower_count = follower_count + $1,"
+                        + " followers_version = followers_version + 1 where id = $2")
+                .execute(Tuple.of(delta, userId))
+                .chain(() -> client
+                        .preparedQuery("update users set following_count = following_count + $1 where id = $2")
+                        .execute(Tuple.of(delta, followerId)))
+                .replaceWithVoid();
+    }
+
+    /**
+     * Drops Hibernate's second-level copies of these users, so the blocking side reads them again.
+     */
+    public void evict(Long... ids) {
+        for(Long id : ids) {
+            entityManagerFactory.getCache().evict(User.class, id);
+        }
+    }
+
+    private static List<User> toUsers(RowSet<Row> rows) {
+        List<User> users = new ArrayList<>(rows.size());
+        for(Row row : rows) {
+            users.add(toUser(row));
+        }
+        return users;
+    }
+
+    private static User toUser(Row row) {
+        User user = new User();
+        user.setId(row.getLong("id"));
+        user.setName(row.getString("name"));
+        user.setAge(row.getInteger("age"));
+        user.setFollowerCount(row.getLong("follower_count"));
+        user.setFollowingCount(row.getLong("following_count"));
+        return user;
+    }
+}
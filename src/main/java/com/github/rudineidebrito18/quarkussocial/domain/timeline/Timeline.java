@@ -0,0 +1,66 @@
+package com.github.rudineidebrito18.quarkussocial.domain.timeline;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Bounded list of post ids, newest first: by {@code dateTime}, then id, like the listings. Ids are drawn
+ * from per-instance blocks of the sequence, so they alone don't say which post is newer. When full,
+ * adding a newer post drops the oldest one, and posts older than everything retained are ignored.
+ */
+class Timeline {
+    private final long[] times;
+    private final long[] ids;
+    private int size;
+
+    Timeline(int capacity) {
+        this.times = new long[capacity];
+        this.ids = new long[capacity];
+    }
+
+    synchronized void add(long postId, LocalDateTime dateTime) {
+        // the same post can come from a seed and a push, with the timestamp rounded differently
+        for(int i = 0; i < size; i++) {
+            if(ids[i] == postId) {
+                return;
+            }
+        }
+        long time = micros(dateTime);
+        int insertAt = insertionPoint(time, postId);
+        if(insertAt >= ids.length) {
+            return;
+        }
+        int tail = Math.min(size, ids.length - 1) - insertAt;
+        System.arraycopy(times, insertAt, times, insertAt + 1, tail);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, tail);
+        times[insertAt] = time;
+        ids[insertAt] = postId;
+        size = Math.min(size + 1, ids.length);
+    }
+
+    synchronized long[] latest(int limit) {
+        return Arrays.copyOf(ids, Math.min(limit, size));
+    }
+
+    private int insertionPoint(long time, long postId) {
+        int low = 0;
+        int high = size - 1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            if(times[mid] > time || (times[mid] == time && ids[mid] > postId)) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        if(dateTime == null) {
+            return Long.MIN_VALUE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+}
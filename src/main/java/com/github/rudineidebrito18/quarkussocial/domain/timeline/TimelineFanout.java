@@ -0,0 +1,146 @@
+package com.github.rudineidebrito18.quarkussocial.domain.timeline;
+
+import com.github.rudineidebrito18.quarkussocial.domain.event.PostCreatedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.notification.NotificationSubscriber;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes new post ids into the timelines of the author's followers once the post is committed.
+ * <p>
+ * New posts are taken from the {@code posts_created} channel, which a trigger (migration V10) notifies for
+ * every committed post whichever instance or import wrote it, so every instance pushes into the timelines
+ * it holds. While that subscription is down (or without PostgreSQL) this instance's own posts are pushed
+ * right after their commit instead.
+ * <p>
+ * Work runs on a single background thread; up to {@link #MAX_BATCH} posts queued by the time it wakes up
+ * are handled as one batch with one follower-count query and one follower-id query. Authors above
+ * {@code social.feed.fanout-threshold} followers are skipped and served by fan-out on read.
+ */
+@ApplicationScoped
+public class TimelineFanout implements NotificationSubscriber {
+    private static final Logger LOG = Logger.getLogger(TimelineFanout.class);
+    static final String CHANNEL = "posts_created";
+    private static final int MAX_BATCH = 1000;
+
+    private final LinkedBlockingQueue<PostCreatedEvent> pending = new LinkedBlockingQueue<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> new Thread(r, "timeline-fanout"));
+
+    private FollowerRepository followerRepository;
+    private TimelineStore timelineStore;
+    private long fanoutThreshold;
+    private volatile boolean subscribed;
+
+    @Inject
+    public TimelineFanout(FollowerRepository followerRepository,
+                          TimelineStore timelineStore,
+                          @ConfigProperty(name = "social.feed.fanout-threshold", defaultValue = "10000") long fanoutThreshold) {
+        this.followerRepository = followerRepository;
+        this.timelineStore = timelineStore;
+        this.fanoutThreshold = fanoutThreshold;
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreatedEvent event) {
+        if(!subscribed) {
+            enqueue(List.of(event));
+        }
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void subscribed(Connection connection) {
+        subscribed = true;
+    }
+
+    @Override
+    public void unsubscribed() {
+        subscribed = false;
+    }
+
+    /**
+     * Payloads are {@code <id>:<user_id>:<dateTime>}.
+     */
+    @Override
+    public boolean received(List<String> payloads) {
+        List<PostCreatedEvent> events = new ArrayList<>(payloads.size());
+        for(String payload : payloads) {
+            String[] fields = payload.split(":", 3);
+            events.add(new PostCreatedEvent(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    LocalDateTime.parse(fields[2])));
+        }
+        enqueue(events);
+        return true;
+    }
+
+    private void enqueue(List<PostCreatedEvent> events) {
+        pending.addAll(events);
+        worker.execute(this::drain);
+    }
+
+    @ActivateRequestContext
+    void drain() {
+        List<PostCreatedEvent> batch = new ArrayList<>();
+        while(pending.drainTo(batch, MAX_BATCH) > 0) {
+            try {
+                QuarkusTransaction.requiringNew().run(() -> fanOut(batch));
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Timeline fan-out failed for %d posts", batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    private void fanOut(List<PostCreatedEvent> batch) {
+        Set<Long> authors = batch.stream().map(PostCreatedEvent::getAuthorId).collect(Collectors.toSet());
+
+        Map<Long, Long> followerCounts = followerRepository.countFollowersByUsers(authors);
+        Set<Long> smallAuthors = authors.stream()
+                .filter(author -> {
+                    boolean large = followerCounts.getOrDefault(author, 0L) > fanoutThreshold;
+                    if(large) {
+                        timelineStore.markLargeAuthor(author);
+                    } else {
+                        timelineStore.unmarkLargeAuthor(author);
+                    }
+                    return !large;
+                })
+                .collect(Collectors.toSet());
+        if(smallAuthors.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> followersByAuthor = followerRepository.findFollowerIdsByUsers(smallAuthors);
+        for(PostCreatedEvent event : batch) {
+            followersByAuthor.getOrDefault(event.getAuthorId(), List.of())
+                    .forEach(followerId -> timelineStore.push(followerId, event.getPostId(), event.getDateTime()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.rudineidebrito18.quarkussocial.domain.timeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.rudineidebrito18.quarkussocial.domain.event.FollowChangedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.graph.FollowGraph;
+import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import com.github.rudineidebrito18.quarkussocial.domain.notification.NotificationOrigin;
+import com.github.rudineidebrito18.quarkussocial.domain.notification.NotificationSubscriber;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory home timelines, one bounded {@link Timeline} per reader.
+ * <p>
+ * A timeline only exists once it has been seeded by a read; fan-out pushes into
+ * existing timelines only, so readers that never ask for their feed cost nothing.
+ * Authors whose audience is above the fan-out threshold are remembered here so
+ * their posts can be merged in at read time instead. A follow or unfollow drops the
+ * follower's timeline so the next read rebuilds it from the new set of accounts: right after the commit for
+ * this instance's own writes, and from the {@code followers_changed} notifications for everyone else's.
+ * Every timeline is dropped when that subscription comes or goes, as changes may have been missed; while
+ * it is down (or without PostgreSQL) changes made by other instances only show after
+ * {@code social.feed.timeline-ttl}.
+ * <p>
+ * At most {@code social.feed.max-timelines} readers keep a timeline, the least read ones are evicted first
+ * (fan-out doesn't count as a use), and each is rebuilt {@code social.feed.timeline-ttl} after it was seeded. Counts are published as
+ * {@code cache.gets{cache=timelines}}.
+ */
+@ApplicationScoped
+public class TimelineStore implements NotificationSubscriber {
+    private final Set<Long> largeAuthors = ConcurrentHashMap.newKeySet();
+    private Cache<Long, Timeline> timelines;
+    private NotificationOrigin origin;
+    private int capacity;
+
+    @Inject
+    public TimelineStore(MeterRegistry registry, NotificationOrigin origin,
+                         @ConfigProperty(name = "social.feed.timeline-capacity", defaultValue = "500") int capacity,
+                         @ConfigProperty(name = "social.feed.max-timelines", defaultValue = "100000") long maxTimelines,
+                         @ConfigProperty(name = "social.feed.timeline-ttl", defaultValue = "PT1H") Duration ttl) {
+        this.origin = origin;
+        this.capacity = capacity;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxTimelines)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, timelines, "timelines");
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean contains(Long readerId) {
+        return timelines.asMap().containsKey(readerId);
+    }
+
+    public void seed(Long readerId, Collection<Post> posts) {
+        Timeline timeline = timelines.get(readerId, id -> new Timeline(capacity));
+        posts.forEach(post -> timeline.add(post.getId(), post.getDateTime()));
+    }
+
+    public void push(Long readerId, long postId, LocalDateTime dateTime) {
+        Timeline timeline = timelines.policy().getIfPresentQuietly(readerId);
+        if(timeline != null) {
+            timeline.add(postId, dateTime);
+        }
+    }
+
+    public long[] latest(Long readerId, int limit) {
+        Timeline timeline = timelines.getIfPresent(readerId);
+        return timeline == null ? new long[0] : timeline.latest(limit);
+    }
+
+    public void evict(Long readerId) {
+        timelines.invalidate(readerId);
+    }
+
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) FollowChangedEvent event) {
+        if(event.getFollowerId() != null) {
+            evict(event.getFollowerId());
+        }
+    }
+
+    @Override
+    public String channel() {
+        return FollowGraph.CHANNEL;
+    }
+
+    @Override
+    public void subscribed(Connection connection) {
+        timelines.invalidateAll();
+    }
+
+    @Override
+    public void unsubscribed() {
+        timelines.invalidateAll();
+    }
+
+    /**
+     * Payloads are {@code +<follower_id>:<user_id>@<origin>}, {@code -<follower_id>:<user_id>@<origin>} or
+     * {@code *} (migrations V8 and V13); this instance's own changes were handled by {@link #onFollowChanged}.
+     */
+    @Override
+    public boolean received(List<String> payloads) {
+        for(String payload : payloads) {
+            int separator = payload.indexOf(':');
+            if(separator < 0) {
+                timelines.invalidateAll();
+                return true;
+            }
+            if(origin.isLocal(payload)) {
+                continue;
+            }
+            evict(Long.parseLong(payload.substring(1, separator)));
+        }
+        return true;
+    }
+
+    public void markLargeAuthor(Long authorId) {
+        largeAuthors.add(authorId);
+    }
+
+    public void unmarkLargeAuthor(Long authorId) {
+        largeAuthors.remove(authorId);
+    }
+
+    public Set<Long> largeAuthors() {
+        return Set.copyOf(largeAuthors);
+    }
+}
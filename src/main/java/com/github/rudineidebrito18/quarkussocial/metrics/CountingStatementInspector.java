@@ -0,0 +1,29 @@
+package com.github.rudineidebrito18.quarkussocial.metrics;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.inject.Inject;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares against the request it belongs to. The global
+ * Hibernate statistics can't tell concurrent requests apart; this can, because the request context
+ * follows the work even when it is handed to another thread.
+ */
+@PersistenceUnitExtension
+public class CountingStatementInspector implements StatementInspector {
+    private RequestSqlStatements statements;
+
+    @Inject
+    public CountingStatementInspector(RequestSqlStatements statements) {
+        this.statements = statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if(Arc.container().requestContext().isActive()) {
+            statements.increment();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.rudineidebrito18.quarkussocial.metrics;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * SQL statements prepared while serving the current request.
+ */
+@RequestScoped
+public class RequestSqlStatements {
+    private int count;
+
+    void increment() {
+        count++;
+    }
+
+    public int count() {
+        return count;
+    }
+}
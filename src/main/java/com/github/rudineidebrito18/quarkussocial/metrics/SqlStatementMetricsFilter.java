@@ -0,0 +1,55 @@
+package com.github.rudineidebrito18.quarkussocial.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.ClientProxy;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Records how many SQL statements each endpoint needed, as the {@code social.request.sql.statements}
+ * distribution tagged with the resource class and method. A rising count on an endpoint is the N+1
+ * query showing up before its latency does.
+ * <p>
+ * The request's counter is looked up on the way in and kept as a request property: an async resource
+ * (virtual mode) resumes on a thread where the request context isn't active any more.
+ */
+@Provider
+public class SqlStatementMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    static final String STATEMENTS = SqlStatementMetricsFilter.class.getName() + ".statements";
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    RequestSqlStatements statements;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        request.setProperty(STATEMENTS, ClientProxy.unwrap(statements));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if(resourceInfo == null || resourceInfo.getResourceMethod() == null
+                || !(request.getProperty(STATEMENTS) instanceof RequestSqlStatements counted)) {
+            return;
+        }
+        DistributionSummary.builder("social.request.sql.statements")
+                .description("SQL statements prepared per request")
+                .tag("class", resourceInfo.getResourceClass().getSimpleName())
+                .tag("method", resourceInfo.getResourceMethod().getName())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(counted.count());
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.counter.FollowCounterReconciler;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.BulkCopyRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.BulkTable;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.Compressed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Admin bulk import/export of {@code users}, {@code posts} and {@code followers} as CSV, streamed through
+ * PostgreSQL {@code COPY}. Disabled (404) unless {@code social.admin.bulk.enabled=true}; it bypasses the
+ * API's checks, so only enable it where the endpoint is not reachable by clients.
+ * <p>
+ * Import order matters because of the foreign keys: users, then posts and followers.
+ */
+@Compressed
+@Path("admin/bulk/{table}")
+@ApplicationScoped
+public class BulkDataResource {
+    private static final Logger LOG = Logger.getLogger(BulkDataResource.class);
+    static final String TEXT_CSV = "text/csv";
+
+    private BulkCopyRepository repository;
+    private FollowCounterReconciler counterReconciler;
+    private boolean enabled;
+
+    @Inject
+    public BulkDataResource(BulkCopyRepository repository, FollowCounterReconciler counterReconciler,
+                            @ConfigProperty(name = "social.admin.bulk.enabled", defaultValue = "false") boolean enabled) {
+        this.repository = repository;
+        this.counterReconciler = counterReconciler;
+        this.enabled = enabled;
+    }
+
+    @POST
+    @Consumes(TEXT_CSV)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response importTable(@PathParam("table") String name, InputStream csv) {
+        BulkTable table = enabled ? BulkTable.of(name) : null;
+        if(table == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        long rows;
+        try {
+            rows = repository.importCsv(table, csv);
+        } catch (SQLException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+        } catch (IOException e) {
+            throw new WebApplicationException(e);
+        }
+        LOG.infof("Imported %d rows into %s", rows, table.table());
+
+        if(table == BulkTable.FOLLOWERS) {
+            // imported edges didn't go through the counters
+            counterReconciler.reconcile();
+        }
+        return Response.ok(Map.of("table", table.table(), "rows", rows)).build();
+    }
+
+    @GET
+    @Produces(TEXT_CSV)
+    public Response exportTable(@PathParam("table") String name) {
+        BulkTable table = enabled ? BulkTable.of(name) : null;
+        if(table == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        StreamingOutput output = csv -> {
+            try {
+                repository.exportCsv(table, csv);
+            } catch (SQLException e) {
+                throw new IOException("Export of " + table.table() + " failed", e);
+            }
+        };
+        return Response.ok(output)
+                .header("Content-Disposition", "attachment; filename=\"" + table.table() + ".csv\"")
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserCache;
+import com.github.rudineidebrito18.quarkussocial.domain.timeline.TimelineStore;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FeedPostResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.CborMessageBodyWriter;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.Compressed;
+import com.github.rudineidebrito18.quarkussocial.rest.ratelimit.RateLimited;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.*;
+
+@Compressed
+@Path("users/{userId}/feed")
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
+@ApplicationScoped
+public class FeedResource {
+    static final int DEFAULT_FEED_SIZE = 20;
+    static final int MAX_FEED_SIZE = 100;
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator
+            .comparing(Post::getDateTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Post::getId, Comparator.reverseOrder());
+
+    private UserCache userCache;
+    private PostRepository postRepository;
+    private TimelineStore timelineStore;
+
+    @Inject
+    public FeedResource(UserCache userCache, PostRepository postRepository, TimelineStore timelineStore) {
+        this.userCache = userCache;
+        this.postRepository = postRepository;
+        this.timelineStore = timelineStore;
+    }
+
+    @GET
+    @RateLimited("feed")
+    public Response homeFeed(@PathParam("userId") Long userId, @QueryParam("limit") Integer limit) {
+        User user = userCache.findById(userId);
+        if(user == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        int feedSize = limit == null ? DEFAULT_FEED_SIZE : Math.min(Math.max(limit, 1), MAX_FEED_SIZE);
+
+        List<Post> posts;
+        if(!timelineStore.contains(userId)) {
+            posts = materialize(userId);
+        } else {
+            posts = new ArrayList<>(materialized(userId, feedSize));
+            Set<Long> largeAuthors = timelineStore.largeAuthors();
+            if(!largeAuthors.isEmpty()) {
+                posts.addAll(postRepository.findRecentFollowedBy(userId, largeAuthors, feedSize));
+            }
+        }
+
+        // a post pushed before its author crossed the fan-out threshold is also in the read-time merge
+        Set<Long> seen = new HashSet<>();
+        List<FeedPostResponse> result = posts.stream()
+                .filter(post -> seen.add(post.getId()))
+                .sorted(NEWEST_FIRST)
+                .limit(feedSize)
+                .map(FeedPostResponse::fromEntity)
+                .toList();
+
+        return Response.ok(result).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+    }
+
+    private List<Post> materialized(Long userId, int feedSize) {
+        long[] ids = timelineStore.latest(userId, feedSize);
+        if(ids.length == 0) {
+            return List.of();
+        }
+        return postRepository.findByIds(Arrays.stream(ids).boxed().toList());
+    }
+
+    /**
+     * First read of a reader since startup: build the timeline from the followed accounts
+     * (fan-out on read) and keep it so later posts can be pushed into it.
+     */
+    private List<Post> materialize(Long userId) {
+        timelineStore.seed(userId, List.of());
+        List<Post> recent = postRepository.findRecentFollowedBy(userId, null, timelineStore.capacity());
+        timelineStore.seed(userId, recent);
+        return recent;
+    }
+}
@@ -1,30 +1,55 @@
 package com.github.rudineidebrito18.quarkussocial.rest;
 
-import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
+import com.github.rudineidebrito18.quarkussocial.domain.event.FollowChangedEvent;
 import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserCache;
 import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerCountResponse;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerResponse;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowersPerUserResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.CborMessageBodyWriter;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.Compressed;
+import io.micrometer.core.annotation.Timed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
+@Compressed
 @Path("users/{userId}/followers")
 @Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
+@ApplicationScoped
+@Timed(value = "social.resource", description = "Resource method latency", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
 public class FollowerResource {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
     private FollowerRepository repository;
     private UserRepository userRepository;
+    private UserCache userCache;
+    private Event<FollowChangedEvent> followChanged;
+    private ResourceExecution execution;
 
     @Inject
-    public FollowerResource(FollowerRepository repository, UserRepository userRepository) {
+    public FollowerResource(FollowerRepository repository, UserRepository userRepository, UserCache userCache,
+                            Event<FollowChangedEvent> followChanged, ResourceExecution execution) {
         this.repository = repository;
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.followChanged = followChanged;
+        this.execution = execution;
     }
 
     @PUT
@@ -36,51 +61,102 @@ public class FollowerResource {
                     .build();
         }
 
-        var user = userRepository.findById(userId);
+        var user = userCache.findById(userId);
         if(user == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
-        var follower = userRepository.findById(request.getFollowerId());
-
-        boolean follows = repository.follows(follower, user);
-
-        if(!follows) {
-            var entity = new Follower();
-            entity.setUser(user);
-            entity.setFollower(follower);
+        var follower = userCache.findById(request.getFollowerId());
+        if(follower == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
 
-            repository.persist(entity);
+        if(repository.insertIfAbsent(request.getFollowerId(), userId)) {
+            userRepository.adjustFollowCounters(request.getFollowerId(), userId, 1);
+            followChanged.fire(new FollowChangedEvent(request.getFollowerId(), userId, true));
         }
 
         return Response.noContent().build();
     }
 
     @GET
-    public Response listFollowers(@PathParam("userId") Long userId) {
-        var user = userRepository.findById(userId);
-        if(user == null) {
+    public CompletionStage<Response> listFollowers(@PathParam("userId") Long userId,
+                                                   @QueryParam("countOnly") boolean countOnly,
+                                                   @QueryParam("afterId") Long afterId,
+                                                   @QueryParam("limit") Integer limit,
+                                                   @Context Request request) {
+        return execution.submit(() -> findFollowers(userId, countOnly, afterId, limit, request));
+    }
+
+    /**
+     * Without {@code afterId} or {@code limit} the whole list comes back, as it always has. With either,
+     * followers come in keyset pages on the edge id with a {@code next} cursor, and {@code followerCount}
+     * is the stored counter, so the cost of a page doesn't depend on how many followers there are.
+     */
+    private Response findFollowers(Long userId, boolean countOnly, Long afterId, Integer limit, Request request) {
+        Long version = userRepository.findFollowersVersion(userId);
+        if(version == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
-        var list = repository.findByUser(userId);
 
-        FollowersPerUserResponse responseObject = new FollowersPerUserResponse();
-        responseObject.setFollowerCount(list.size());
+        boolean paged = !countOnly && (afterId != null || limit != null);
+        String variant = countOnly ? "-count" : paged ? "-" + afterId + "-" + limit : "";
+        MediaType type = HttpCaching.negotiate(request);
+        EntityTag etag = HttpCaching.tag("f" + version + variant, type);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if(notModified != null) {
+            return notModified.cacheControl(HttpCaching.REVALIDATE).build();
+        }
+
+        if(countOnly) {
+            FollowersPerUserResponse responseObject = new FollowersPerUserResponse();
+            responseObject.setFollowerCount(userRepository.findById(userId).getFollowerCount());
+            return HttpCaching.cacheable(Response.ok(responseObject), etag, null, type);
+        }
 
-        List<FollowerResponse> followerList = list.stream().map(FollowerResponse::new).toList();
+        if(paged) {
+            int pageSize = Paging.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+            List<FollowerResponse> content = repository.findResponsesPageByUser(userId,
+                    afterId == null ? 0 : afterId, pageSize + 1);
+
+            FollowersPerUserResponse responseObject = new FollowersPerUserResponse();
+            responseObject.setFollowerCount(userRepository.findById(userId).getFollowerCount());
+            responseObject.setContent(Paging.content(content, pageSize));
+            responseObject.setNext(Paging.next(content, pageSize, FollowerResponse::getId));
+            return HttpCaching.cacheable(Response.ok(responseObject), etag, null, type);
+        }
+
+        List<FollowerResponse> followerList = repository.findResponsesByUser(userId);
+
+        FollowersPerUserResponse responseObject = new FollowersPerUserResponse();
+        responseObject.setFollowerCount((long) followerList.size());
         responseObject.setContent(followerList);
 
-        return Response.ok(responseObject).build();
+        return HttpCaching.cacheable(Response.ok(responseObject), etag, null, type);
+    }
+
+    @GET
+    @Path("count")
+    public Response countFollowers(@PathParam("userId") Long userId) {
+        var user = userRepository.findById(userId);
+        if(user == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.ok(new FollowerCountResponse(user.getFollowerCount(), user.getFollowingCount())).build();
     }
 
     @DELETE
     @Transactional
     public Response unfollowUser(@PathParam("userId") Long userId, @QueryParam("followerId") Long followerId) {
-        var user = userRepository.findById(userId);
+        var user = userCache.findById(userId);
         if(user == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
 
-        repository.deleteByFollowerAndUser(followerId, userId);
+        long deleted = repository.deleteByFollowerAndUser(followerId, userId);
+        if(deleted > 0) {
+            userRepository.adjustFollowCounters(followerId, userId, -deleted);
+            followChanged.fire(new FollowChangedEvent(followerId, userId, false));
+        }
 
         return Response.noContent().build();
     }
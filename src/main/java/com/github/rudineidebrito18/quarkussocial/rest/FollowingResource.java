@@ -0,0 +1,142 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.event.FollowChangedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserCache;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.BatchFollowRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.BatchFollowResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowingPageResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowingResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.Compressed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.*;
+
+/**
+ * The accounts a user follows, seen from the follower's side.
+ */
+@Compressed
+@Path("users/{userId}/following")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+public class FollowingResource {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private FollowerRepository repository;
+    private UserRepository userRepository;
+    private UserCache userCache;
+    private Event<FollowChangedEvent> followChanged;
+    private int batchMaxSize;
+
+    @Inject
+    public FollowingResource(FollowerRepository repository, UserRepository userRepository, UserCache userCache,
+                             Event<FollowChangedEvent> followChanged,
+                             @ConfigProperty(name = "social.followers.batch-max-size", defaultValue = "100") int batchMaxSize) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.followChanged = followChanged;
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    /**
+     * Accounts this user follows, oldest follow first, in keyset pages; {@code mutual=true} keeps only
+     * those that follow back.
+     */
+    @GET
+    public Response listFollowing(@PathParam("userId") Long userId,
+                                  @QueryParam("afterId") Long afterId,
+                                  @QueryParam("limit") Integer limit,
+                                  @QueryParam("mutual") boolean mutual) {
+        if(userCache.findById(userId) == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        int pageSize = Paging.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        List<FollowingResponse> content = repository.findFollowingPage(userId, afterId == null ? 0 : afterId,
+                pageSize + 1, mutual);
+
+        FollowingPageResponse page = new FollowingPageResponse();
+        page.setContent(Paging.content(content, pageSize));
+        page.setNext(Paging.next(content, pageSize, FollowingResponse::getId));
+        return Response.ok(page).build();
+    }
+
+    /**
+     * Follows and unfollows several accounts in one transaction with a fixed number of statements:
+     * one existence check, one insert that skips the edges already there, one lookup of the edges to
+     * delete, one delete and the counter updates. Counters and events only cover the rows actually written.
+     */
+    @POST
+    @Path("batch")
+    @Transactional
+    public Response batchFollow(@PathParam("userId") Long userId, BatchFollowRequest request) {
+        Set<Long> toFollow = idsOf(request.getFollow(), userId);
+        Set<Long> toUnfollow = idsOf(request.getUnfollow(), userId);
+
+        if(toFollow.size() + toUnfollow.size() > batchMaxSize) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("A batch can't touch more than " + batchMaxSize + " accounts")
+                    .build();
+        }
+        if(!Collections.disjoint(toFollow, toUnfollow)) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("You can't follow and unfollow the same account")
+                    .build();
+        }
+
+        var follower = userCache.findById(userId);
+        if(follower == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        List<Long> notFound = new ArrayList<>();
+        int followed = 0;
+        if(!toFollow.isEmpty()) {
+            Set<Long> existing = userRepository.findExistingIds(toFollow);
+            toFollow.stream().filter(id -> !existing.contains(id)).forEach(notFound::add);
+
+            if(!existing.isEmpty()) {
+                Set<Long> newEdges = repository.insertBatch(userId, existing);
+                if(!newEdges.isEmpty()) {
+                    userRepository.adjustFollowCounters(userId, newEdges, 1);
+                    newEdges.forEach(followedId -> followChanged.fire(new FollowChangedEvent(userId, followedId, true)));
+                }
+                followed = newEdges.size();
+            }
+        }
+
+        int unfollowed = 0;
+        if(!toUnfollow.isEmpty()) {
+            Set<Long> currentEdges = repository.findFollowedAmong(userId, toUnfollow);
+            if(!currentEdges.isEmpty()) {
+                repository.deleteByFollowerAndUsers(userId, currentEdges);
+                userRepository.adjustFollowCounters(userId, currentEdges, -1);
+                currentEdges.forEach(followedId -> followChanged.fire(new FollowChangedEvent(userId, followedId, false)));
+            }
+            unfollowed = currentEdges.size();
+        }
+
+        return Response.ok(new BatchFollowResponse(followed, unfollowed, notFound)).build();
+    }
+
+    private static Set<Long> idsOf(List<Long> ids, Long self) {
+        if(ids == null) {
+            return Set.of();
+        }
+        Set<Long> result = new LinkedHashSet<>(ids);
+        result.remove(null);
+        result.remove(self);
+        return result;
+    }
+}
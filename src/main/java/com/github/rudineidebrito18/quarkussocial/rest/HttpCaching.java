@@ -0,0 +1,67 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.CborMessageBodyWriter;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Variant;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Conditional GET support for listings. Responses may be kept by the client but must be revalidated
+ * on every use, which costs a single version query and a {@code 304} while nothing changed.
+ * Validation goes through the ETag only: {@code Last-Modified} has one-second resolution and would
+ * miss a post written in the same second as the previous one. Listings can be JSON or CBOR, so they vary
+ * on {@code Accept}, and each representation gets its own tag: the media type is negotiated up front with
+ * {@link #negotiate} and folded into the tag by {@link #tag}. Gzipped bodies get theirs from
+ * {@code ResponseCompressionInterceptor}.
+ */
+final class HttpCaching {
+    static final CacheControl REVALIDATE = revalidate();
+
+    private static final List<Variant> VARIANTS = Variant
+            .mediaTypes(MediaType.APPLICATION_JSON_TYPE, CborMessageBodyWriter.APPLICATION_CBOR_TYPE)
+            .build();
+
+    private HttpCaching() {
+    }
+
+    /**
+     * The representation a listing will be written in, JSON unless the client prefers CBOR.
+     */
+    static MediaType negotiate(Request request) {
+        Variant variant = request.selectVariant(VARIANTS);
+        return variant == null ? MediaType.APPLICATION_JSON_TYPE : variant.getMediaType();
+    }
+
+    static EntityTag tag(String value, MediaType type) {
+        return new EntityTag(CborMessageBodyWriter.APPLICATION_CBOR_TYPE.isCompatible(type) ? value + "-cbor" : value);
+    }
+
+    static Response cacheable(Response.ResponseBuilder response, EntityTag etag, Date lastModified, MediaType type) {
+        response.type(type).tag(etag).cacheControl(REVALIDATE).header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if(lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.build();
+    }
+
+    static Date toDate(LocalDateTime dateTime) {
+        return dateTime == null ? null : Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static CacheControl revalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
+    }
+}
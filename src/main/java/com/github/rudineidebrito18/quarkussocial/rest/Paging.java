@@ -0,0 +1,35 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paging rules shared by the listing endpoints, blocking and reactive. A page is fetched with one row more
+ * than requested; that look-ahead row is never returned, it only tells whether a {@code next} cursor is due.
+ */
+public final class Paging {
+
+    private Paging() {
+    }
+
+    /**
+     * The requested size clamped to {@code [1, maxSize]}, or {@code defaultSize} when none was requested.
+     */
+    public static int pageSize(Integer requested, int defaultSize, int maxSize) {
+        return requested == null ? defaultSize : Math.min(Math.max(requested, 1), maxSize);
+    }
+
+    /**
+     * The rows to return, without the look-ahead row.
+     */
+    public static <T> List<T> content(List<T> fetched, int pageSize) {
+        return fetched.size() > pageSize ? fetched.subList(0, pageSize) : fetched;
+    }
+
+    /**
+     * The cursor taken from the last returned row, or {@code null} on the last page.
+     */
+    public static <T, C> C next(List<T> fetched, int pageSize, Function<T, C> cursor) {
+        return fetched.size() > pageSize ? cursor.apply(fetched.get(pageSize - 1)) : null;
+    }
+}
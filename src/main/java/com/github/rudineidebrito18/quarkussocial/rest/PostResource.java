@@ -1,59 +1,125 @@
 package com.github.rudineidebrito18.quarkussocial.rest;
 
+import com.github.rudineidebrito18.quarkussocial.domain.event.PostCreatedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.ingestion.PendingPost;
+import com.github.rudineidebrito18.quarkussocial.domain.ingestion.PostIngestion;
 import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
 import com.github.rudineidebrito18.quarkussocial.domain.model.User;
 import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
 import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
-import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostStats;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserCache;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostCursor;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostPageResponse;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Sort;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.ResponseError;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.CborMessageBodyWriter;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.Compressed;
+import com.github.rudineidebrito18.quarkussocial.rest.ratelimit.RateLimited;
+import io.micrometer.core.annotation.Timed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
+@Compressed
 @Path("users/{userId}/posts")
 @Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
+@ApplicationScoped
+@Timed(value = "social.resource", description = "Resource method latency", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
 public class PostResource {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int INGESTION_RETRY_AFTER_SECONDS = 1;
 
-    private UserRepository userRepository;
+    private UserCache userCache;
     private PostRepository postRepository;
     private FollowerRepository followerRepository;
+    private Event<PostCreatedEvent> postCreated;
+    private ResourceExecution execution;
+    private PostIngestion ingestion;
+    private Validator validator;
 
     @Inject
-    public PostResource(UserRepository userRepository, PostRepository postRepository, FollowerRepository followerRepository) {
-        this.userRepository = userRepository;
+    public PostResource(UserCache userCache, PostRepository postRepository, FollowerRepository followerRepository,
+                        Event<PostCreatedEvent> postCreated, ResourceExecution execution, PostIngestion ingestion,
+                        Validator validator) {
+        this.userCache = userCache;
         this.postRepository = postRepository;
         this.followerRepository = followerRepository;
+        this.postCreated = postCreated;
+        this.execution = execution;
+        this.ingestion = ingestion;
+        this.validator = validator;
     }
 
     @POST
     @Transactional
+    @RateLimited("posts-write")
     public Response savePost(@PathParam("userId") Long userId, CreatePostRequest request) {
-        User user = userRepository.findById(userId);
+        // before anything is queued: a write-behind post has been answered by the time it reaches the table
+        Set<ConstraintViolation<CreatePostRequest>> violations = validator.validate(request);
+        if(!violations.isEmpty()) {
+            return ResponseError.createFromValidation(violations).withStatusCode(ResponseError.UNPROCESSABLE_ENTITY_STATUS);
+        }
+        User user = userCache.findById(userId);
         if(user == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
 
+        if(ingestion.isEnabled()) {
+            PendingPost pending = ingestion.offer(userId, request.getText());
+            if(pending == null) {
+                return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, INGESTION_RETRY_AFTER_SECONDS)
+                        .entity("Too many posts waiting to be saved, try again later")
+                        .build();
+            }
+            return Response.accepted(new PostResponse(pending.getId(), pending.getText(), pending.getDateTime())).build();
+        }
+
         Post post = new Post();
         post.setText(request.getText());
         post.setUser(user);
 
         postRepository.persist(post);
+        postCreated.fire(new PostCreatedEvent(post.getId(), userId, post.getDateTime()));
 
         return Response.status(Response.Status.CREATED).build();
     }
 
     @GET
-    public Response listPosts(@PathParam("userId") Long userId, @HeaderParam("followerId") Long followerId) {
-        User user = userRepository.findById(userId);
+    @RateLimited(value = "posts-read", key = RateLimited.Key.FOLLOWER)
+    public CompletionStage<Response> listPosts(@PathParam("userId") Long userId,
+                                               @HeaderParam("followerId") Long followerId,
+                                               @QueryParam("cursor") String cursor,
+                                               @QueryParam("limit") Integer limit,
+                                               @QueryParam("unpaged") boolean unpaged,
+                                               @Context Request request) {
+        return execution.submit(() -> findPosts(userId, followerId, cursor, limit, unpaged, request));
+    }
+
+    private Response findPosts(Long userId, Long followerId, String cursor, Integer limit, boolean unpaged,
+                               Request request) {
+        User user = userCache.findById(userId);
         if(user == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
@@ -62,7 +128,7 @@ public class PostResource {
             return Response.status(Response.Status.BAD_REQUEST).entity("You forgot the header followerId").build();
         }
 
-        User follower = userRepository.findById(followerId);
+        User follower = userCache.findById(followerId);
 
         if(follower == null) {
             return Response.status(Response.Status.BAD_REQUEST).entity("nonexistent followerId").build();
@@ -73,11 +139,43 @@ public class PostResource {
             return Response.status(Response.Status.FORBIDDEN).entity("You can't see these posts").build();
         }
 
-        PanacheQuery<Post> query = postRepository.find("user", Sort.by("dateTime", Sort.Direction.Descending), user);
-        var list = query.list();
+        // any new or removed post bumps the version; the query parameters pick the page
+        PostStats stats = postRepository.findStats(userId);
+        if(stats == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        MediaType type = HttpCaching.negotiate(request);
+        EntityTag etag = HttpCaching.tag("p" + stats.getVersion() + "-"
+                + Integer.toHexString(Objects.hash(cursor, limit, unpaged)), type);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if(notModified != null) {
+            return notModified.cacheControl(HttpCaching.REVALIDATE).build();
+        }
+        Date lastModified = HttpCaching.toDate(stats.getLastModified());
+
+        if(unpaged) {
+            List<PostResponse> result = postRepository.findResponsesByUser(userId, null, null, 0);
+            return HttpCaching.cacheable(Response.ok(result), etag, lastModified, type);
+        }
+
+        PostCursor after = null;
+        if(cursor != null) {
+            try {
+                after = PostCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity("Invalid cursor").build();
+            }
+        }
+
+        int pageSize = Paging.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        List<PostResponse> list = after == null
+                ? postRepository.findResponsesByUser(userId, null, null, pageSize + 1)
+                : postRepository.findResponsesByUser(userId, after.getDateTime(), after.getId(), pageSize + 1);
 
-        List<PostResponse> result = list.stream().map(PostResponse::fromEntity).toList();
+        PostPageResponse page = new PostPageResponse();
+        page.setContent(Paging.content(list, pageSize));
+        page.setNext(Paging.next(list, pageSize, last -> PostCursor.of(last).encode()));
 
-        return Response.ok(result).build();
+        return HttpCaching.cacheable(Response.ok(page), etag, lastModified, type);
     }
 }
@@ -0,0 +1,62 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserCache;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.Compressed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Follow status between a user and a set of other accounts, so clients no longer have to download a
+ * whole follower list to find out whether a handful of accounts follow back.
+ */
+@Compressed
+@Path("users/{userId}/relationships")
+@Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+public class RelationshipResource {
+    private FollowerRepository repository;
+    private UserCache userCache;
+    private int maxIds;
+
+    @Inject
+    public RelationshipResource(FollowerRepository repository, UserCache userCache,
+                                @ConfigProperty(name = "social.followers.batch-max-size", defaultValue = "100") int maxIds) {
+        this.repository = repository;
+        this.userCache = userCache;
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * {@code GET /users/1/relationships?ids=2&ids=3}: one entry per requested account, in request order.
+     */
+    @GET
+    public Response relationships(@PathParam("userId") Long userId, @QueryParam("ids") List<Long> ids) {
+        Set<Long> otherIds = new LinkedHashSet<>(ids);
+        otherIds.remove(null);
+        otherIds.remove(userId);
+
+        if(otherIds.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("You forgot the ids query parameter").build();
+        }
+        if(otherIds.size() > maxIds) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("You can't ask for more than " + maxIds + " accounts at once")
+                    .build();
+        }
+
+        if(userCache.findById(userId) == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        return Response.ok(repository.findRelationships(userId, otherIds).values()).build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ThreadContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Where blocking resource bodies run, chosen by {@code social.execution.mode}:
+ * <ul>
+ *     <li>{@code worker}: inline on the RESTEasy worker thread that dispatched the request;</li>
+ *     <li>{@code virtual}: on a virtual thread, handing the worker back straight away. The request
+ *     context (and with it the Hibernate session) travels with the task.</li>
+ * </ul>
+ * In virtual mode the bounded resource is the JDBC pool rather than the worker pool, so
+ * {@code quarkus.datasource.jdbc.max-size} should be raised along with it.
+ */
+@ApplicationScoped
+public class ResourceExecution {
+    public enum Mode {
+        WORKER, VIRTUAL
+    }
+
+    private Mode mode;
+    private ThreadContext threadContext;
+    private ExecutorService virtualThreads;
+
+    @Inject
+    public ResourceExecution(@ConfigProperty(name = "social.execution.mode", defaultValue = "worker") Mode mode,
+                             ThreadContext threadContext) {
+        this.mode = mode;
+        this.threadContext = threadContext;
+        if(mode == Mode.VIRTUAL) {
+            this.virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("resource-vt-", 0).factory());
+        }
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public CompletionStage<Response> submit(Supplier<Response> body) {
+        if(mode == Mode.WORKER) {
+            return CompletableFuture.completedFuture(body.get());
+        }
+        return CompletableFuture.supplyAsync(threadContext.contextualSupplier(body), virtualThreads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if(virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserCache;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.SearchCursor;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.SearchPageResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.SearchPostResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.Compressed;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+
+/**
+ * Full-text search over the posts of the accounts the caller follows. Like the post listing, the
+ * caller is identified by the {@code followerId} header.
+ */
+@Compressed
+@Path("posts/search")
+@Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+public class SearchResource {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private UserCache userCache;
+    private PostRepository postRepository;
+
+    @Inject
+    public SearchResource(UserCache userCache, PostRepository postRepository) {
+        this.userCache = userCache;
+        this.postRepository = postRepository;
+    }
+
+    @GET
+    public Response search(@QueryParam("q") String query,
+                           @HeaderParam("followerId") Long followerId,
+                           @QueryParam("cursor") String cursor,
+                           @QueryParam("limit") Integer limit) {
+        if(query == null || query.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("You forgot the query parameter q").build();
+        }
+        if(query.length() > MAX_QUERY_LENGTH) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("The query can't be longer than " + MAX_QUERY_LENGTH + " characters")
+                    .build();
+        }
+        if(followerId == null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("You forgot the header followerId").build();
+        }
+
+        SearchCursor after = null;
+        if(cursor != null) {
+            try {
+                after = SearchCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity("Invalid cursor").build();
+            }
+        }
+
+        if(userCache.findById(followerId) == null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("nonexistent followerId").build();
+        }
+
+        int pageSize = Paging.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        List<SearchPostResponse> hits = after == null
+                ? postRepository.search(followerId, query.strip(), null, null, pageSize + 1)
+                : postRepository.search(followerId, query.strip(), after.getRank(), after.getId(), pageSize + 1);
+
+        SearchPageResponse page = new SearchPageResponse();
+        page.setContent(Paging.content(hits, pageSize));
+        page.setNext(Paging.next(hits, pageSize, last -> SearchCursor.of(last).encode()));
+        return Response.ok(page).build();
+    }
+}
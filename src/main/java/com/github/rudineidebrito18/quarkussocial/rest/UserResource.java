@@ -1,10 +1,19 @@
 package com.github.rudineidebrito18.quarkussocial.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rudineidebrito18.quarkussocial.domain.event.UserChangedEvent;
 import com.github.rudineidebrito18.quarkussocial.domain.model.User;
 import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.CreateUserRequest;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.ResponseError;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.UserPageResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.Compressed;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolation;
@@ -12,22 +21,39 @@ import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
-
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
+@Compressed
 @Path("/users")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+@Timed(value = "social.resource", description = "Resource method latency", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
 public class UserResource {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int STREAM_FETCH_SIZE = 500;
 
     private UserRepository repository;
     private Validator validator;
+    private ObjectMapper objectMapper;
+    private Event<UserChangedEvent> userChanged;
 
     @Inject
-    public UserResource(UserRepository repository, Validator validator) {
+    public UserResource(UserRepository repository, Validator validator, ObjectMapper objectMapper,
+                        Event<UserChangedEvent> userChanged) {
         this.repository = repository;
         this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.userChanged = userChanged;
     }
 
     @POST
@@ -47,11 +73,59 @@ public class UserResource {
     }
 
     @GET
-    public Response listAllUsers() {
+    public Response listAllUsers(@QueryParam("page") Integer page,
+                                 @QueryParam("size") Integer size,
+                                 @QueryParam("afterId") Long afterId,
+                                 @QueryParam("limit") Integer limit,
+                                 @QueryParam("stream") boolean stream) {
+        if(stream) {
+            StreamingOutput output = this::streamUsers;
+            return Response.ok(output).build();
+        }
+
+        if(page != null) {
+            int pageSize = Paging.pageSize(size, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+            List<User> content = repository.findPage(Math.max(page, 0), pageSize);
+            return Response.ok(toPage(content, pageSize, last -> (long) Math.max(page, 0) + 1)).build();
+        }
+
+        if(afterId != null || limit != null) {
+            int pageSize = Paging.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+            List<User> content = repository.findAfterId(afterId == null ? 0 : afterId, pageSize + 1);
+            return Response.ok(toPage(content, pageSize, User::getId)).build();
+        }
+
         PanacheQuery<User> users = repository.findAll();
         return Response.ok(users.list()).build();
     }
 
+    private static UserPageResponse toPage(List<User> content, int pageSize, Function<User, Long> next) {
+        UserPageResponse response = new UserPageResponse();
+        response.setContent(Paging.content(content, pageSize));
+        response.setNext(Paging.next(content, pageSize, next));
+        return response;
+    }
+
+    /**
+     * Writes the whole table as one JSON array while scrolling it, so memory use does not
+     * depend on the number of users.
+     */
+    private void streamUsers(OutputStream output) throws IOException {
+        try(JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartArray();
+            QuarkusTransaction.requiringNew().run(() -> repository.scrollAll(STREAM_FETCH_SIZE, user -> {
+                try {
+                    generator.writeObject(user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     @PUT
     @Path("{id}")
     @Transactional
@@ -64,6 +138,8 @@ public class UserResource {
             }
             user.setAge(userRequest.getAge());
             user.setName(userRequest.getName());
+            repository.touchFollowed(id);
+            userChanged.fire(new UserChangedEvent(id));
             return Response.noContent().build();
         } else {
             return Response.status(Response.Status.NOT_FOUND).build();
@@ -77,6 +153,7 @@ public class UserResource {
         User user = repository.findById(id);
         if (user != null) {
             repository.delete(user);
+            userChanged.fire(new UserChangedEvent(id));
             return Response.noContent().build();
         } else {
             return Response.status(Response.Status.NOT_FOUND).build();
@@ -0,0 +1,18 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@RegisterForReflection
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchFollowResponse {
+    private Integer followed;
+    private Integer unfollowed;
+    private List<Long> notFound;
+}
@@ -1,9 +1,14 @@
 package com.github.rudineidebrito18.quarkussocial.rest.dto;
 
-import lombok.AllArgsConstructor;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+@RegisterForReflection
 @Data
 public class CreatePostRequest {
+    @NotBlank(message = "Text is required")
+    @Size(max = 150, message = "Text must have at most 150 characters")
     private String text;
 }
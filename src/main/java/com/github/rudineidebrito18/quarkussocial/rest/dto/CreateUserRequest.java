@@ -1,10 +1,12 @@
 package com.github.rudineidebrito18.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
+@RegisterForReflection
 @Getter
 @Setter
 public class CreateUserRequest {
@@ -0,0 +1,25 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@RegisterForReflection
+@Data
+public class FeedPostResponse {
+    private Long id;
+    private Long userId;
+    private String text;
+    private LocalDateTime dateTime;
+
+    public static FeedPostResponse fromEntity(Post post) {
+        var response = new FeedPostResponse();
+        response.setId(post.getId());
+        response.setUserId(post.getUser().getId());
+        response.setText(post.getText());
+        response.setDateTime(post.getDateTime());
+        return response;
+    }
+}
@@ -1,9 +1,11 @@
 package com.github.rudineidebrito18.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+@RegisterForReflection
 @Getter
 @Setter
 @AllArgsConstructor
@@ -0,0 +1,15 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@RegisterForReflection
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowerCountResponse {
+    private Long followerCount;
+    private Long followingCount;
+}
@@ -1,7 +1,9 @@
 package com.github.rudineidebrito18.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
+@RegisterForReflection
 @Data
 public class FollowerRequest {
     private Long followerId;
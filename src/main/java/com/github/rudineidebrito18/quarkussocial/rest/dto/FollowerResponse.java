@@ -1,8 +1,10 @@
 package com.github.rudineidebrito18.quarkussocial.rest.dto;
 
 import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
+@RegisterForReflection
 @Data
 public class FollowerResponse {
     private Long id;
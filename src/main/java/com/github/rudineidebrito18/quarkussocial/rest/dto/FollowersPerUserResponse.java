@@ -1,11 +1,17 @@
 package com.github.rudineidebrito18.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 import java.util.List;
 
+/**
+ * A user's followers. {@code next} is only set on paged requests, as the {@code afterId} of the next page.
+ */
+@RegisterForReflection
 @Data
 public class FollowersPerUserResponse {
-    private Integer followerCount;
+    private Long followerCount;
     private List<FollowerResponse> content;
+    private Long next;
 }
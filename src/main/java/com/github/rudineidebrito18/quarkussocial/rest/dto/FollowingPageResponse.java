@@ -0,0 +1,16 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A page of followed accounts; {@code next} is the {@code afterId} of the next page, {@code null} on the last one.
+ */
+@RegisterForReflection
+@Data
+public class FollowingPageResponse {
+    private List<FollowingResponse> content;
+    private Long next;
+}
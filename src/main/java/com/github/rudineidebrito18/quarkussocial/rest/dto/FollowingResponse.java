@@ -0,0 +1,19 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An account being followed. {@code id} is the follow edge's id, which is also the keyset position.
+ */
+@RegisterForReflection
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowingResponse {
+    private Long id;
+    private Long userId;
+    private String name;
+}
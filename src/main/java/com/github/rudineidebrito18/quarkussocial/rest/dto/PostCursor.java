@@ -0,0 +1,46 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a user's timeline: the {@code dateTime} and {@code id}
+ * of the last post of a page, encoded as URL-safe Base64.
+ */
+@Data
+@AllArgsConstructor
+public class PostCursor {
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime dateTime;
+    private Long id;
+
+    public static PostCursor of(PostResponse post) {
+        return new PostCursor(post.getDateTime(), post.getId());
+    }
+
+    public String encode() {
+        String raw = dateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if(separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDateTime dateTime = LocalDateTime.parse(raw.substring(0, separator));
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new PostCursor(dateTime, id);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package com.github.rudineidebrito18.quarkussocial.rest.dto;
 
 import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
+@RegisterForReflection
 @Data
 public class PostResponse {
+    private Long id;
     private String text;
     private LocalDateTime dateTime;
 
+    public PostResponse() {
+    }
+
+    public PostResponse(Long id, String text, LocalDateTime dateTime) {
+        this.id = id;
+        this.text = text;
+        this.dateTime = dateTime;
+    }
+
     public static PostResponse fromEntity(Post post) {
-        var response = new PostResponse();
-        response.setText(post.getText());
-        response.setDateTime(post.getDateTime());
-        return response;
+        return new PostResponse(post.getId(), post.getText(), post.getDateTime());
     }
 }
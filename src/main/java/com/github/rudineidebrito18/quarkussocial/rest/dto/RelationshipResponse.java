@@ -0,0 +1,23 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How a user relates to another account: whether it follows that account, is followed by it, or both.
+ */
+@RegisterForReflection
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipResponse {
+    private Long userId;
+    private boolean following;
+    private boolean followedBy;
+
+    public boolean isMutual() {
+        return following && followedBy;
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.rudineidebrito18.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.validation.ConstraintViolation;
 import jakarta.ws.rs.core.Response;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
+@RegisterForReflection
 @Getter
 @Setter
 @AllArgsConstructor
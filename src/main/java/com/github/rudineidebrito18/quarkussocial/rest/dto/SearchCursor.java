@@ -0,0 +1,40 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in search results: the {@code rank} and {@code id} of the last hit of a page,
+ * encoded as URL-safe Base64. Ranks are compared exactly, so the float is kept as its raw bits.
+ */
+@Data
+@AllArgsConstructor
+public class SearchCursor {
+    private static final String SEPARATOR = "|";
+
+    private float rank;
+    private Long id;
+
+    public static SearchCursor of(SearchPostResponse hit) {
+        return new SearchCursor(hit.getRank(), hit.getId());
+    }
+
+    public String encode() {
+        String raw = Float.floatToIntBits(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(SEPARATOR);
+        if(separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        float rank = Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator)));
+        Long id = Long.valueOf(raw.substring(separator + 1));
+        return new SearchCursor(rank, id);
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.util.List;
+
+@RegisterForReflection
+@Data
+public class SearchPageResponse {
+    private List<SearchPostResponse> content;
+    private String next;
+}
@@ -0,0 +1,20 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@RegisterForReflection
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPostResponse {
+    private Long id;
+    private Long userId;
+    private String text;
+    private LocalDateTime dateTime;
+    private float rank;
+}
@@ -0,0 +1,18 @@
+package com.github.rudineidebrito18.quarkussocial.rest.dto;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A page of users. {@code next} is the next page index for {@code page}/{@code size} requests
+ * and the next {@code afterId} for keyset requests; it is {@code null} on the last page.
+ */
+@RegisterForReflection
+@Data
+public class UserPageResponse {
+    private List<User> content;
+    private Long next;
+}
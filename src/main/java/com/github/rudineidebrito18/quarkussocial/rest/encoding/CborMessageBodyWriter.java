@@ -0,0 +1,83 @@
+package com.github.rudineidebrito18.quarkussocial.rest.encoding;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FeedPostResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerCountResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowersPerUserResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostPageResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.ResponseError;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code application/cbor} representation of the response DTOs, for clients that ask for it in {@code Accept}.
+ * Field names are the JSON ones, while {@code dateTime} values go out as {@code [year, month, day, hour,
+ * minute, second, nano]} integer arrays instead of ISO strings.
+ * <p>
+ * Serializers for the timeline and follower payloads are built at startup rather than on their first
+ * request; any other type gets its writer the first time it is written and keeps it.
+ */
+@Provider
+@Produces(CborMessageBodyWriter.APPLICATION_CBOR)
+public class CborMessageBodyWriter implements MessageBodyWriter<Object> {
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+
+    private static final List<Type> PREBUILT = List.of(
+            PostResponse.class, PostPageResponse.class, FeedPostResponse.class,
+            FollowersPerUserResponse.class, FollowerCountResponse.class, ResponseError.class);
+
+    private CBORMapper mapper;
+    private Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CborMessageBodyWriter() {
+        this.mapper = CBORMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new Jdk8Module())
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .build();
+        PREBUILT.forEach(this::writerFor);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mediaType != null && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+                && APPLICATION_CBOR_TYPE.isCompatible(mediaType);
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        writerFor(genericType == null ? type : genericType).writeValue(entityStream, entity);
+    }
+
+    /**
+     * Writers are resolved for the declared type so a {@code List<PostResponse>} shares one serializer
+     * for all of its elements. Building the writer prefetches its root serializer.
+     */
+    ObjectWriter writerFor(Type type) {
+        return writers.computeIfAbsent(type, key -> {
+            JavaType javaType = mapper.constructType(key);
+            return mapper.writerFor(javaType);
+        });
+    }
+}
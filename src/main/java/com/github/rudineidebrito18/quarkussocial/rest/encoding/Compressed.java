@@ -0,0 +1,19 @@
+package com.github.rudineidebrito18.quarkussocial.rest.encoding;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a resource behind {@link ResponseCompressionInterceptor}. Only blocking resources carry it: with a
+ * writer interceptor bound, RESTEasy refuses to write a response completed on the event loop, while without
+ * one it hands just the write to a worker.
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Compressed {
+}
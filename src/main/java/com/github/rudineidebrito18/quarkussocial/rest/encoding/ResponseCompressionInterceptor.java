@@ -0,0 +1,151 @@
+package com.github.rudineidebrito18.quarkussocial.rest.encoding;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Gzips response bodies larger than {@code social.http.compression.min-size} bytes for clients that accept it.
+ * Smaller bodies, mostly single entities and error messages, go out as they are: compressing them costs more
+ * CPU than the bytes it saves.
+ * <p>
+ * A gzipped body is a different representation, so its {@code ETag} gets a {@code -gzip} suffix. The suffix
+ * is taken off {@code If-None-Match} before the resource compares tags, and put back on the {@code 304}.
+ * Bound to the {@link Compressed} resources only, the reactive ones write their responses uncompressed.
+ */
+@Provider
+@Compressed
+public class ResponseCompressionInterceptor implements WriterInterceptor, ContainerRequestFilter, ContainerResponseFilter {
+    static final String GZIP = "gzip";
+    static final String GZIP_TAG_SUFFIX = "-gzip";
+    static final String GZIP_TAG_MATCHED = ResponseCompressionInterceptor.class.getName() + ".gzipTagMatched";
+
+    @ConfigProperty(name = "social.http.compression.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "social.http.compression.min-size", defaultValue = "1024")
+    int minSize;
+
+    @Context
+    HttpHeaders requestHeaders;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        List<String> ifNoneMatch = request.getHeaders().get(HttpHeaders.IF_NONE_MATCH);
+        if(!enabled || ifNoneMatch == null) {
+            return;
+        }
+        boolean stripped = false;
+        for(int i = 0; i < ifNoneMatch.size(); i++) {
+            String value = ifNoneMatch.get(i);
+            String identity = value.replace(GZIP_TAG_SUFFIX + "\"", "\"");
+            if(!identity.equals(value)) {
+                ifNoneMatch.set(i, identity);
+                stripped = true;
+            }
+        }
+        if(stripped) {
+            request.setProperty(GZIP_TAG_MATCHED, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if(enabled && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()
+                && request.getProperty(GZIP_TAG_MATCHED) != null
+                && acceptsGzip(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING))) {
+            gzipTag(response.getHeaders());
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if(!enabled || context.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            context.proceed();
+            return;
+        }
+
+        varyOnAcceptEncoding(context.getHeaders());
+        if(requestHeaders == null || !acceptsGzip(requestHeaders.getRequestHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            context.proceed();
+            return;
+        }
+
+        ThresholdGzipOutputStream body = new ThresholdGzipOutputStream(context.getOutputStream(), minSize, () -> {
+            context.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+            gzipTag(context.getHeaders());
+        });
+        context.setOutputStream(body);
+        try {
+            context.proceed();
+        } finally {
+            body.finish();
+        }
+    }
+
+    /**
+     * One {@code Vary} header listing every request header, rather than one per header: clients and
+     * caches that only read the first one would miss the others.
+     */
+    private static void varyOnAcceptEncoding(MultivaluedMap<String, Object> headers) {
+        Object vary = headers.getFirst(HttpHeaders.VARY);
+        if(vary == null) {
+            headers.putSingle(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        } else if(!vary.toString().contains(HttpHeaders.ACCEPT_ENCODING)) {
+            headers.putSingle(HttpHeaders.VARY, vary + ", " + HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private static void gzipTag(MultivaluedMap<String, Object> headers) {
+        Object etag = headers.getFirst(HttpHeaders.ETAG);
+        if(etag == null) {
+            return;
+        }
+        EntityTag tag = etag instanceof EntityTag entityTag ? entityTag : EntityTag.valueOf(etag.toString());
+        if(!tag.getValue().endsWith(GZIP_TAG_SUFFIX)) {
+            headers.putSingle(HttpHeaders.ETAG, new EntityTag(tag.getValue() + GZIP_TAG_SUFFIX, tag.isWeak()));
+        }
+    }
+
+    private static boolean acceptsGzip(List<String> values) {
+        if(values == null) {
+            return false;
+        }
+        for(String value : values) {
+            for(String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if(GZIP.equalsIgnoreCase(parts[0].trim()) && !refused(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean refused(String[] parameters) {
+        for(int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim().replace(" ", "");
+            if(parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch(NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
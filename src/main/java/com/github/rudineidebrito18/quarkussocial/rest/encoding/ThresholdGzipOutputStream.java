@@ -0,0 +1,87 @@
+package com.github.rudineidebrito18.quarkussocial.rest.encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds back the first {@code threshold} bytes of a body. If the body ends within them it is written as is;
+ * once it grows past them {@code onCompress} runs (while the headers can still change) and everything
+ * from then on is gzipped. Flushes are passed through after that point, so streamed bodies keep streaming.
+ */
+final class ThresholdGzipOutputStream extends OutputStream {
+    private final OutputStream target;
+    private final int threshold;
+    private final Runnable onCompress;
+
+    private ByteArrayOutputStream pending;
+    private OutputStream out;
+    private boolean finished;
+
+    ThresholdGzipOutputStream(OutputStream target, int threshold, Runnable onCompress) {
+        this.target = target;
+        this.threshold = threshold;
+        this.onCompress = onCompress;
+        this.pending = new ByteArrayOutputStream(Math.min(threshold, 8192));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if(out == null) {
+            if(pending.size() + len <= threshold) {
+                pending.write(b, off, len);
+                return;
+            }
+            onCompress.run();
+            out = new GZIPOutputStream(target, 8192, true);
+            pending.writeTo(out);
+            pending = null;
+        }
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if(out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes whatever is still held back, uncompressed, or ends the gzip stream. The underlying stream
+     * is left open; {@link #close()} closes it.
+     */
+    void finish() throws IOException {
+        if(finished) {
+            return;
+        }
+        finished = true;
+        if(out == null) {
+            pending.writeTo(target);
+            pending = null;
+            out = target;
+        } else if(out instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+        target.flush();
+    }
+
+    /**
+     * The container closes the stream the interceptor installed, not the one underneath, so closing has to
+     * be passed on or the response never ends.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            target.close();
+        }
+    }
+}
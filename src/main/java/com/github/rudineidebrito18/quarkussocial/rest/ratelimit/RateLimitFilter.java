@@ -0,0 +1,84 @@
+package com.github.rudineidebrito18.quarkussocial.rest.ratelimit;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns away requests to {@link RateLimited} methods once the caller's quota is spent, with {@code 429} and
+ * the whole seconds to wait in {@code Retry-After}. Runs before the resource, so a throttled request never
+ * touches the connection pool. Requests whose key isn't a number are left to the resource to reject.
+ */
+@Provider
+@RateLimited
+@Priority(Priorities.USER)
+public class RateLimitFilter implements ContainerRequestFilter {
+    static final String USER_ID = "userId";
+    static final String FOLLOWER_ID = "followerId";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Inject
+    RateLimiters limiters;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if(!limiters.isEnabled()) {
+            return;
+        }
+        RateLimited quota = quota();
+        if(quota == null || quota.value().isEmpty()) {
+            return;
+        }
+        Long key = key(request, quota.key());
+        if(key == null) {
+            return;
+        }
+
+        long wait = limiters.acquire(quota.value(), key);
+        if(wait > 0) {
+            long seconds = Math.max(1, (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+            request.abortWith(Response.status(Response.Status.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, seconds)
+                    .entity("Too many requests, try again later")
+                    .build());
+        }
+    }
+
+    private RateLimited quota() {
+        RateLimited quota = resourceInfo.getResourceMethod().getAnnotation(RateLimited.class);
+        return quota != null ? quota : resourceInfo.getResourceClass().getAnnotation(RateLimited.class);
+    }
+
+    private static Long key(ContainerRequestContext request, RateLimited.Key key) {
+        if(key == RateLimited.Key.FOLLOWER) {
+            Long followerId = parse(request.getHeaderString(FOLLOWER_ID));
+            if(followerId != null) {
+                return followerId;
+            }
+        }
+        return parse(request.getUriInfo().getPathParameters().getFirst(USER_ID));
+    }
+
+    private static Long parse(String value) {
+        if(value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch(NumberFormatException e) {
+            return null;
+        }
+    }
+}
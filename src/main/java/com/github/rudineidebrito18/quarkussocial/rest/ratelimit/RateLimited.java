@@ -0,0 +1,30 @@
+package com.github.rudineidebrito18.quarkussocial.rest.ratelimit;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a resource method behind the per-user quota {@code social.rate-limit.<value>.*}.
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    /**
+     * Whose requests are counted against the quota.
+     */
+    enum Key {
+        /** The {@code userId} path parameter. */
+        USER,
+        /** The {@code followerId} header of the reader, or the {@code userId} path parameter without one. */
+        FOLLOWER
+    }
+
+    String value() default "";
+
+    Key key() default Key.USER;
+}
@@ -0,0 +1,82 @@
+package com.github.rudineidebrito18.quarkussocial.rest.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets of one quota, one per user id, kept as a single timestamp each (the generic cell rate
+ * algorithm): a bucket is the time at which it would be full again, a request moves it one interval
+ * forward, and a request that would push it more than {@code burst} intervals past now is refused.
+ * Taking a token is a compare-and-set on that timestamp, so concurrent requests never block each other.
+ * <p>
+ * A bucket whose timestamp is in the past is full and indistinguishable from a new one, which is what
+ * lets {@link #evictIdle} drop it.
+ */
+public class RateLimiter {
+    private final String name;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxBuckets;
+    private final ConcurrentHashMap<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(String name, double perSecond, int burst, int maxBuckets) {
+        if(perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs a positive rate and a burst of at least 1");
+        }
+        this.name = name;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / perSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.maxBuckets = maxBuckets;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Takes a token for {@code key}.
+     *
+     * @return 0 when the request may go ahead, otherwise the nanoseconds until a token is available
+     */
+    public long acquire(long key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if(bucket == null) {
+            if(buckets.size() >= maxBuckets) {
+                evictIdle(nowNanos);
+                if(buckets.size() >= maxBuckets) {
+                    // every tracked user is active: refuse newcomers rather than grow without bound
+                    return intervalNanos;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+
+        while(true) {
+            long full = bucket.get();
+            long next = Math.max(full, nowNanos) + intervalNanos;
+            long wait = next - toleranceNanos - nowNanos;
+            if(wait > 0) {
+                return wait;
+            }
+            if(bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that have refilled completely. A request racing with the removal may take its token
+     * from the dropped bucket, i.e. get one request for free.
+     *
+     * @return how many buckets were dropped
+     */
+    public int evictIdle(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.rudineidebrito18.quarkussocial.rest.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The quotas named by {@link RateLimited}, each configured as {@code social.rate-limit.<name>.per-second}
+ * (sustained rate) and {@code social.rate-limit.<name>.burst} (requests allowed at once). Idle buckets are
+ * swept every {@code social.rate-limit.evict-every}, and no quota tracks more than
+ * {@code social.rate-limit.max-buckets} users.
+ * <p>
+ * Publishes {@code social.rate-limit.throttled} (refused requests) and {@code social.rate-limit.buckets}
+ * (users tracked), both tagged with the quota name.
+ */
+@ApplicationScoped
+public class RateLimiters {
+    private Config config;
+    private MeterRegistry registry;
+    private boolean enabled;
+    private int maxBuckets;
+    private Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+    private Map<String, Counter> throttled = new ConcurrentHashMap<>();
+
+    @Inject
+    public RateLimiters(Config config, MeterRegistry registry,
+                        @ConfigProperty(name = "social.rate-limit.enabled", defaultValue = "true") boolean enabled,
+                        @ConfigProperty(name = "social.rate-limit.max-buckets", defaultValue = "100000") int maxBuckets) {
+        this.config = config;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return 0 when {@code key} may call an endpoint under quota {@code name}, otherwise the nanoseconds
+     * until it may
+     */
+    public long acquire(String name, long key) {
+        RateLimiter limiter = limiters.computeIfAbsent(name, this::create);
+        long wait = limiter.acquire(key, System.nanoTime());
+        if(wait > 0) {
+            throttled.computeIfAbsent(name, quota -> Counter.builder("social.rate-limit.throttled")
+                            .description("Requests refused by a per-user rate limit")
+                            .tag("limiter", quota)
+                            .register(registry))
+                    .increment();
+        }
+        return wait;
+    }
+
+    @Scheduled(every = "{social.rate-limit.evict-every}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void evictIdle() {
+        long now = System.nanoTime();
+        limiters.values().forEach(limiter -> limiter.evictIdle(now));
+    }
+
+    private RateLimiter create(String name) {
+        String prefix = "social.rate-limit." + name;
+        RateLimiter limiter = new RateLimiter(name,
+                config.getValue(prefix + ".per-second", Double.class),
+                config.getValue(prefix + ".burst", Integer.class),
+                maxBuckets);
+        Gauge.builder("social.rate-limit.buckets", limiter, RateLimiter::size)
+                .description("Users with a live rate limit bucket")
+                .tag("limiter", name)
+                .register(registry);
+        return limiter;
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.rudineidebrito18.quarkussocial.rest.reactive;
+
+import com.github.rudineidebrito18.quarkussocial.domain.event.FollowChangedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.reactive.ReactiveDatabase;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.reactive.ReactiveFollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.reactive.ReactiveUserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.Paging;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowersPerUserResponse;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@code FollowerResource}. Follow and unfollow run the edge change and the
+ * counter updates in one reactive transaction; once it commits, both users' cached rows are evicted and
+ * the same events as the blocking resource are fired. Listing pages the same way, on {@code afterId}
+ * and {@code limit}.
+ */
+@Path("reactive/users/{userId}/followers")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class ReactiveFollowerResource {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private ReactiveDatabase database;
+    private ReactiveFollowerRepository repository;
+    private ReactiveUserRepository userRepository;
+    private Event<FollowChangedEvent> followChanged;
+
+    @Inject
+    public ReactiveFollowerResource(ReactiveDatabase database, ReactiveFollowerRepository repository,
+                                    ReactiveUserRepository userRepository, Event<FollowChangedEvent> followChanged) {
+        this.database = database;
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.followChanged = followChanged;
+    }
+
+    @PUT
+    public CompletionStage<Response> followUser(@PathParam("userId") Long userId, FollowerRequest request) {
+        Long followerId = request.getFollowerId();
+        if(userId.equals(followerId)) {
+            return Uni.createFrom().item(Response.status(Response.Status.CONFLICT)
+                    .entity("You can't follow yourself")
+                    .build()).subscribeAsCompletionStage();
+        }
+
+        return Uni.combine().all().unis(userRepository.findById(userId), userRepository.findById(followerId)).asTuple()
+                .chain(users -> {
+                    if(users.getItem1() == null || users.getItem2() == null) {
+                        return Uni.createFrom().item(Response.status(Response.Status.NOT_FOUND).build());
+                    }
+                    return database.pool().withTransaction(connection -> repository.insertIfAbsent(connection, followerId, userId)
+                                    .chain(created -> created
+                                            ? userRepository.adjustFollowCounters(connection, followerId, userId, 1).replaceWith(true)
+                                            : Uni.createFrom().item(false)))
+                            .map(created -> {
+                                if(created) {
+                                    userRepository.evict(followerId, userId);
+                                    followChanged.fire(new FollowChangedEvent(followerId, userId, true));
+                                }
+                                return Response.noContent().build();
+                            });
+                })
+                .subscribeAsCompletionStage();
+    }
+
+    @GET
+    public CompletionStage<Response> listFollowers(@PathParam("userId") Long userId,
+                                                   @QueryParam("countOnly") boolean countOnly,
+                                                   @QueryParam("afterId") Long afterId,
+                                                   @QueryParam("limit") Integer limit) {
+        return userRepository.findById(userId)
+                .chain(user -> {
+                    if(user == null) {
+                        return Uni.createFrom().item(Response.status(Response.Status.NOT_FOUND).build());
+                    }
+                    FollowersPerUserResponse responseObject = new FollowersPerUserResponse();
+                    if(countOnly) {
+                        responseObject.setFollowerCount(user.getFollowerCount());
+                        return Uni.createFrom().item(Response.ok(responseObject).build());
+                    }
+                    if(afterId != null || limit != null) {
+                        int pageSize = Paging.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+                        return repository.findResponsesPageByUser(userId, afterId == null ? 0 : afterId, pageSize + 1)
+                                .map(content -> {
+                                    responseObject.setFollowerCount(user.getFollowerCount());
+                                    responseObject.setContent(Paging.content(content, pageSize));
+                                    responseObject.setNext(Paging.next(content, pageSize, FollowerResponse::getId));
+                                    return Response.ok(responseObject).build();
+                                });
+                    }
+                    return repository.findResponsesByUser(userId).map(followerList -> {
+                        responseObject.setFollowerCount((long) followerList.size());
+                        responseObject.setContent(followerList);
+                        return Response.ok(responseObject).build();
+                    });
+                })
+                .subscribeAsCompletionStage();
+    }
+
+    @DELETE
+    public CompletionStage<Response> unfollowUser(@PathParam("userId") Long userId,
+                                                  @QueryParam("followerId") Long followerId) {
+        return userRepository.findById(userId)
+                .chain(user -> {
+                    if(user == null) {
+                        return Uni.createFrom().item(Response.status(Response.Status.NOT_FOUND).build());
+                    }
+                    return database.pool().withTransaction(connection -> repository.deleteByFollowerAndUser(connection, followerId, userId)
+                                    .chain(deleted -> deleted == 0
+                                            ? Uni.createFrom().item(0)
+                                            : userRepository.adjustFollowCounters(connection, followerId, userId, -deleted)
+                                                    .replaceWith(deleted)))
+                            .map(deleted -> {
+                                if(deleted > 0) {
+                                    userRepository.evict(followerId, userId);
+                                    followChanged.fire(new FollowChangedEvent(followerId, userId, false));
+                                }
+                                return Response.noContent().build();
+                            });
+                })
+                .subscribeAsCompletionStage();
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.rudineidebrito18.quarkussocial.rest.reactive;
+
+import com.github.rudineidebrito18.quarkussocial.domain.event.PostCreatedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.reactive.ReactiveFollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.reactive.ReactivePostRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.reactive.ReactiveUserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.Paging;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostCursor;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostPageResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.PostResponse;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.ResponseError;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@code PostResource}, with the same status codes and paging contract.
+ */
+@Path("reactive/users/{userId}/posts")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class ReactivePostResource {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private ReactiveUserRepository userRepository;
+    private ReactivePostRepository postRepository;
+    private ReactiveFollowerRepository followerRepository;
+    private Event<PostCreatedEvent> postCreated;
+    private Validator validator;
+
+    @Inject
+    public ReactivePostResource(ReactiveUserRepository userRepository, ReactivePostRepository postRepository,
+                                ReactiveFollowerRepository followerRepository, Event<PostCreatedEvent> postCreated,
+                                Validator validator) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.followerRepository = followerRepository;
+        this.postCreated = postCreated;
+        this.validator = validator;
+    }
+
+    @POST
+    public CompletionStage<Response> savePost(@PathParam("userId") Long userId, CreatePostRequest request) {
+        Set<ConstraintViolation<CreatePostRequest>> violations = validator.validate(request);
+        if(!violations.isEmpty()) {
+            return Uni.createFrom().item(ResponseError.createFromValidation(violations)
+                    .withStatusCode(ResponseError.UNPROCESSABLE_ENTITY_STATUS)).subscribeAsCompletionStage();
+        }
+        return userRepository.findById(userId)
+                .chain(user -> {
+                    if(user == null) {
+                        return Uni.createFrom().item(Response.status(Response.Status.NOT_FOUND).build());
+                    }
+                    return postRepository.persist(userId, request.getText()).map(post -> {
+                        postCreated.fire(new PostCreatedEvent(post.getId(), userId, post.getDateTime()));
+                        return Response.status(Response.Status.CREATED).build();
+                    });
+                })
+                .subscribeAsCompletionStage();
+    }
+
+    @GET
+    public CompletionStage<Response> listPosts(@PathParam("userId") Long userId,
+                                               @HeaderParam("followerId") Long followerId,
+                                               @QueryParam("cursor") String cursor,
+                                               @QueryParam("limit") Integer limit,
+                                               @QueryParam("unpaged") boolean unpaged) {
+        return userRepository.findById(userId)
+                .chain(user -> {
+                    if(user == null) {
+                        return Uni.createFrom().item(Response.status(Response.Status.NOT_FOUND).build());
+                    }
+                    if(followerId == null) {
+                        return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                                .entity("You forgot the header followerId").build());
+                    }
+                    return userRepository.findById(followerId).chain(follower -> {
+                        if(follower == null) {
+                            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                                    .entity("nonexistent followerId").build());
+                        }
+                        return followerRepository.follows(followerId, userId)
+                                .chain(follows -> follows
+                                        ? listVisiblePosts(userId, cursor, limit, unpaged)
+                                        : Uni.createFrom().item(Response.status(Response.Status.FORBIDDEN)
+                                                .entity("You can't see these posts").build()));
+                    });
+                })
+                .subscribeAsCompletionStage();
+    }
+
+    private Uni<Response> listVisiblePosts(Long userId, String cursor, Integer limit, boolean unpaged) {
+        if(unpaged) {
+            return postRepository.findResponsesByUser(userId, null, null, 0)
+                    .map(result -> Response.ok(result).build());
+        }
+
+        PostCursor after = null;
+        if(cursor != null) {
+            try {
+                after = PostCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).entity("Invalid cursor").build());
+            }
+        }
+
+        int pageSize = Paging.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        Uni<List<PostResponse>> posts = after == null
+                ? postRepository.findResponsesByUser(userId, null, null, pageSize + 1)
+                : postRepository.findResponsesByUser(userId, after.getDateTime(), after.getId(), pageSize + 1);
+
+        return posts.map(list -> {
+            PostPageResponse page = new PostPageResponse();
+            page.setContent(Paging.content(list, pageSize));
+            page.setNext(Paging.next(list, pageSize, last -> PostCursor.of(last).encode()));
+            return Response.ok(page).build();
+        });
+    }
+}
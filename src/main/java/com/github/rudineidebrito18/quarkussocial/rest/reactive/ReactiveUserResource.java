@@ -0,0 +1,103 @@
+package com.github.rudineidebrito18.quarkussocial.rest.reactive;
+
+import com.github.rudineidebrito18.quarkussocial.domain.event.UserChangedEvent;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.reactive.ReactiveUserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.Paging;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreateUserRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.ResponseError;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.UserPageResponse;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@code UserResource}: the worker thread is released as soon as the query is
+ * sent and the response is built on the reactive client's event loop. The resource is not {@code Compressed}, so
+ * RESTEasy only moves the blocking write of the body to a worker.
+ */
+@Path("reactive/users")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class ReactiveUserResource {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private ReactiveUserRepository repository;
+    private Validator validator;
+    private Event<UserChangedEvent> userChanged;
+
+    @Inject
+    public ReactiveUserResource(ReactiveUserRepository repository, Validator validator,
+                                Event<UserChangedEvent> userChanged) {
+        this.repository = repository;
+        this.validator = validator;
+        this.userChanged = userChanged;
+    }
+
+    @POST
+    public CompletionStage<Response> createUser(CreateUserRequest userRequest) {
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(userRequest);
+        if(!violations.isEmpty()) {
+            return Uni.createFrom().item(ResponseError.createFromValidation(violations)
+                    .withStatusCode(ResponseError.UNPROCESSABLE_ENTITY_STATUS)).subscribeAsCompletionStage();
+        }
+        return repository.persist(userRequest.getName(), userRequest.getAge())
+                .map(user -> Response.status(Response.Status.CREATED).entity(user).build())
+                .subscribeAsCompletionStage();
+    }
+
+    @GET
+    public CompletionStage<Response> listUsers(@QueryParam("afterId") Long afterId, @QueryParam("limit") Integer limit) {
+        int pageSize = Paging.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        return repository.findAfterId(afterId == null ? 0 : afterId, pageSize + 1)
+                .map(content -> {
+                    UserPageResponse page = new UserPageResponse();
+                    page.setContent(Paging.content(content, pageSize));
+                    page.setNext(Paging.next(content, pageSize, User::getId));
+                    return Response.ok(page).build();
+                })
+                .subscribeAsCompletionStage();
+    }
+
+    @PUT
+    @Path("{id}")
+    public CompletionStage<Response> updateUser(@PathParam("id") Long id, CreateUserRequest userRequest) {
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(userRequest);
+        if(!violations.isEmpty()) {
+            return repository.findById(id)
+                    .map(user -> user == null
+                            ? Response.status(Response.Status.NOT_FOUND).build()
+                            : ResponseError.createFromValidation(violations)
+                                    .withStatusCode(ResponseError.UNPROCESSABLE_ENTITY_STATUS))
+                    .subscribeAsCompletionStage();
+        }
+        return repository.update(id, userRequest.getName(), userRequest.getAge())
+                .map(updated -> changed(id, updated))
+                .subscribeAsCompletionStage();
+    }
+
+    @DELETE
+    @Path("{id}")
+    public CompletionStage<Response> deleteUser(@PathParam("id") Long id) {
+        return repository.delete(id)
+                .map(deleted -> changed(id, deleted))
+                .subscribeAsCompletionStage();
+    }
+
+    private Response changed(Long id, boolean found) {
+        if(!found) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        userChanged.fire(new UserChangedEvent(id));
+        return Response.noContent().build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.rudineidebrito18.quarkussocial.routing;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Whether the current request reads from the replica. Decided by {@link ReadRoutingFilter} before the
+ * resource opens its Hibernate session; everything else, background work included, uses the primary.
+ */
+@RequestScoped
+public class DataSourceRouting {
+    private boolean replica;
+
+    void useReplica() {
+        replica = true;
+    }
+
+    public boolean isReplica() {
+        return replica;
+    }
+}
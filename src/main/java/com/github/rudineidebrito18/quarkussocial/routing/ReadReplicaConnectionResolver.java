@@ -0,0 +1,34 @@
+package com.github.rudineidebrito18.quarkussocial.routing;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.customized.QuarkusConnectionProvider;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantConnectionResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * Connections for the two tenants of {@link ReadReplicaTenantResolver}. Quarkus' own resolver looks tenants
+ * up as named datasources, which the default one isn't, so {@code PRIMARY} would have no connections; this
+ * one serves it from the default datasource and {@code READ} from {@code quarkus.datasource.read}.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReadReplicaConnectionResolver implements TenantConnectionResolver {
+    private ConnectionProvider primary;
+    private ConnectionProvider replica;
+
+    @Inject
+    public ReadReplicaConnectionResolver(AgroalDataSource primary,
+                                         @DataSource(ReadReplicaTenantResolver.READ) AgroalDataSource replica) {
+        this.primary = new QuarkusConnectionProvider(primary);
+        this.replica = new QuarkusConnectionProvider(replica);
+    }
+
+    @Override
+    public ConnectionProvider resolve(String tenantId) {
+        return ReadReplicaTenantResolver.READ.equals(tenantId) ? replica : primary;
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.rudineidebrito18.quarkussocial.routing;
+
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Hands Hibernate the datasource of each session through {@code DATABASE} multitenancy: both "tenants" are
+ * the same schema, one being the primary ({@code quarkus.datasource}) and the other its read replica
+ * ({@code quarkus.datasource.read}), connected through {@link ReadReplicaConnectionResolver}. Sessions are
+ * opened per request or per transaction, so a request never mixes the two. Second-level cache entries stay
+ * keyed by tenant, so a lagging replica never puts rows back into the primary's regions.
+ */
+@PersistenceUnitExtension
+@RequestScoped
+public class ReadReplicaTenantResolver implements TenantResolver {
+    public static final String PRIMARY = DataSourceUtil.DEFAULT_DATASOURCE_NAME;
+    public static final String READ = "read";
+
+    private DataSourceRouting routing;
+
+    @Inject
+    public ReadReplicaTenantResolver(DataSourceRouting routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public String getDefaultTenantId() {
+        return PRIMARY;
+    }
+
+    @Override
+    public String resolveTenantId() {
+        return routing.isReplica() ? READ : PRIMARY;
+    }
+}
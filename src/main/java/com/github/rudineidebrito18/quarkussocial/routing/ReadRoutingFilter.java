@@ -0,0 +1,148 @@
+package com.github.rudineidebrito18.quarkussocial.routing;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.BatchFollowRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sends {@code GET} requests to the read replica unless:
+ * <ul>
+ *     <li>the resource method (or its class) is {@link Transactional}, i.e. reads in order to write;</li>
+ *     <li>one of the users it names ({@code userId} or {@code id} path parameter, {@code followerId} header or
+ *     query parameter) wrote recently, see {@link RecentWriters};</li>
+ *     <li>the replica is lagging or down, see {@link ReplicaLagMonitor}.</li>
+ * </ul>
+ * Successful writes record the users they name, which opens their read-your-writes window: besides the
+ * parameters above, the follower in a follow request body, the accounts of a batch follow and the user a
+ * create returns.
+ */
+@Provider
+@Priority(Priorities.USER - 100)
+public class ReadRoutingFilter implements ContainerRequestFilter, ContainerResponseFilter, ReaderInterceptor {
+    static final List<String> USER_PATH_PARAMS = List.of("userId", "id");
+    static final String FOLLOWER_ID = "followerId";
+    static final String BODY_USERS = ReadRoutingFilter.class.getName() + ".bodyUsers";
+
+    @Inject
+    DataSourceRouting routing;
+
+    @Inject
+    RecentWriters recentWriters;
+
+    @Inject
+    ReplicaLagMonitor lagMonitor;
+
+    @ConfigProperty(name = "social.read-replica.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if(!enabled || !HttpMethod.GET.equals(request.getMethod()) || transactional()) {
+            return;
+        }
+        for(Long userId : users(request)) {
+            if(recentWriters.wroteRecently(userId)) {
+                return;
+            }
+        }
+        if(lagMonitor.isUsable()) {
+            routing.useReplica();
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if(!enabled || HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod())
+                || response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+            return;
+        }
+        users(request).forEach(recentWriters::wrote);
+        if(request.getProperty(BODY_USERS) instanceof Collection<?> bodyUsers) {
+            bodyUsers.forEach(userId -> recentWriters.wrote((Long) userId));
+        }
+        if(response.getEntity() instanceof User created && created.getId() != null) {
+            recentWriters.wrote(created.getId());
+        }
+    }
+
+    @Override
+    public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
+        Object entity = context.proceed();
+        if(!enabled) {
+            return entity;
+        }
+        List<Long> users = new ArrayList<>();
+        if(entity instanceof FollowerRequest follow && follow.getFollowerId() != null) {
+            users.add(follow.getFollowerId());
+        } else if(entity instanceof BatchFollowRequest batch) {
+            addAll(users, batch.getFollow());
+            addAll(users, batch.getUnfollow());
+        }
+        if(!users.isEmpty()) {
+            context.setProperty(BODY_USERS, users);
+        }
+        return entity;
+    }
+
+    private boolean transactional() {
+        Method method = resourceInfo.getResourceMethod();
+        if(method == null) {
+            return true;
+        }
+        return method.isAnnotationPresent(Transactional.class)
+                || resourceInfo.getResourceClass().isAnnotationPresent(Transactional.class);
+    }
+
+    private static List<Long> users(ContainerRequestContext request) {
+        List<Long> users = new ArrayList<>(2);
+        for(String name : USER_PATH_PARAMS) {
+            add(users, request.getUriInfo().getPathParameters().getFirst(name));
+        }
+        add(users, request.getHeaderString(FOLLOWER_ID));
+        add(users, request.getUriInfo().getQueryParameters().getFirst(FOLLOWER_ID));
+        return users;
+    }
+
+    private static void addAll(List<Long> users, List<Long> ids) {
+        if(ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(users::add);
+        }
+    }
+
+    private static void add(List<Long> users, String value) {
+        if(value == null) {
+            return;
+        }
+        try {
+            users.add(Long.valueOf(value.trim()));
+        } catch(NumberFormatException e) {
+            // not a user id; the resource answers for it
+        }
+    }
+}
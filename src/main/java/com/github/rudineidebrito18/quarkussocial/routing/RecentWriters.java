@@ -0,0 +1,36 @@
+package com.github.rudineidebrito18.quarkussocial.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+/**
+ * Users who wrote within the last {@code social.read-replica.read-your-writes}, whose reads stay on the
+ * primary until the replica has surely caught up. Tracked per instance, so the guarantee holds as long as a
+ * user's requests reach the same instance.
+ */
+@ApplicationScoped
+public class RecentWriters {
+    private Cache<Long, Boolean> writers;
+
+    @Inject
+    public RecentWriters(@ConfigProperty(name = "social.read-replica.read-your-writes", defaultValue = "PT5S") Duration window,
+                         @ConfigProperty(name = "social.read-replica.max-tracked-writers", defaultValue = "100000") long maximumSize) {
+        this.writers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void wrote(Long userId) {
+        writers.put(userId, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return writers.getIfPresent(userId) != null;
+    }
+}
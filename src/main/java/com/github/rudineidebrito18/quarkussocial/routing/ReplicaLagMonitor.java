@@ -0,0 +1,90 @@
+package com.github.rudineidebrito18.quarkussocial.routing;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Measures how far the replica is behind every {@code social.read-replica.lag-check-every}, with
+ * {@code social.read-replica.lag-query} (seconds of lag as a number). Reads go back to the primary while the
+ * lag exceeds {@code social.read-replica.max-lag}, while the replica can't be reached, and until the first
+ * check succeeded. The last measurement is published as {@code social.read-replica.lag}.
+ */
+@ApplicationScoped
+public class ReplicaLagMonitor {
+    private static final Logger LOG = Logger.getLogger(ReplicaLagMonitor.class);
+
+    private AgroalDataSource replica;
+    private boolean enabled;
+    private double maxLagSeconds;
+    private String lagQuery;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    @Inject
+    public ReplicaLagMonitor(@DataSource(ReadReplicaTenantResolver.READ) AgroalDataSource replica,
+                             MeterRegistry registry,
+                             @ConfigProperty(name = "social.read-replica.enabled", defaultValue = "true") boolean enabled,
+                             @ConfigProperty(name = "social.read-replica.max-lag", defaultValue = "PT2S") Duration maxLag,
+                             @ConfigProperty(name = "social.read-replica.lag-query") String lagQuery) {
+        this.replica = replica;
+        this.enabled = enabled;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        Gauge.builder("social.read-replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read datasource, NaN when it couldn't be measured")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        check();
+    }
+
+    @Scheduled(every = "{social.read-replica.lag-check-every}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void check() {
+        if(!enabled) {
+            return;
+        }
+        double lag = measure();
+        boolean nowUsable = lag <= maxLagSeconds;
+        lagSeconds = lag;
+        if(nowUsable != usable) {
+            if(nowUsable) {
+                LOG.infof("Read replica is %.3fs behind, routing reads to it", lag);
+            } else {
+                LOG.warnf("Read replica lag is %.3fs (limit %.3fs), routing reads to the primary", lag, maxLagSeconds);
+            }
+        }
+        usable = nowUsable;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    private double measure() {
+        try(Connection connection = replica.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet result = statement.executeQuery(lagQuery)) {
+            return result.next() ? result.getDouble(1) : Double.NaN;
+        } catch(SQLException e) {
+            LOG.debug("Could not measure the read replica lag", e);
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+-- every committed post is announced on the posts_created channel, whichever instance (or import) wrote it,
+-- so each instance's TimelineFanout pushes it into the timelines it holds. Payloads are
+-- '<id>:<user_id>:<dateTime>', the timestamp in ISO-8601. Row triggers on POSTS are cloned onto every
+-- partition, including the ones PostPartitionMaintainer attaches later.
+CREATE OR REPLACE FUNCTION posts_notify_created() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('posts_created',
+            NEW.id || ':' || NEW.user_id || ':' || to_char(NEW.dateTime, 'YYYY-MM-DD"T"HH24:MI:SS.US'));
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER posts_notify_insert AFTER INSERT ON POSTS
+    FOR EACH ROW EXECUTE FUNCTION posts_notify_created();
@@ -0,0 +1,8 @@
+-- denormalized follower/following counts, kept by every follow and unfollow; FollowCounterReconciler
+-- repairs drift from writes that bypass the application
+ALTER TABLE USERS ADD COLUMN follower_count bigint not null default 0;
+ALTER TABLE USERS ADD COLUMN following_count bigint not null default 0;
+
+UPDATE USERS u SET
+    follower_count = (SELECT count(*) FROM FOLLOWERS f WHERE f.user_id = u.id),
+    following_count = (SELECT count(*) FROM FOLLOWERS f WHERE f.follower_id = u.id);
@@ -0,0 +1,14 @@
+-- ids come from sequences stepping by 50: Hibernate's pooled optimizer hands out a block of 50 ids per
+-- nextval, which lets it batch inserts; the column defaults keep plain SQL inserts working. The optimizer
+-- hands out the 50 ids up to each value it fetches, so every sequence moves at least 50 past the current
+-- maximum id and no existing id can be handed out again.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE posts_id_seq INCREMENT BY 50;
+ALTER SEQUENCE followers_id_seq INCREMENT BY 50;
+
+SELECT setval('users_id_seq', greatest((SELECT coalesce(max(id), 0) FROM USERS) + 50,
+        (SELECT last_value FROM users_id_seq)));
+SELECT setval('posts_id_seq', greatest((SELECT coalesce(max(id), 0) FROM POSTS) + 50,
+        (SELECT last_value FROM posts_id_seq)));
+SELECT setval('followers_id_seq', greatest((SELECT coalesce(max(id), 0) FROM FOLLOWERS) + 50,
+        (SELECT last_value FROM followers_id_seq)));
@@ -0,0 +1,16 @@
+-- followers_changed payloads end with the application_name of the session that made the change,
+-- '+<follower_id>:<user_id>@<application_name>', so an instance can skip its own changes: it applies
+-- those right after committing them (NotificationOrigin names every connection of an instance)
+CREATE OR REPLACE FUNCTION followers_notify_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('followers_changed',
+                '+' || NEW.follower_id || ':' || NEW.user_id || '@' || current_setting('application_name'));
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('followers_changed',
+                '-' || OLD.follower_id || ':' || OLD.user_id || '@' || current_setting('application_name'));
+    ELSE
+        PERFORM pg_notify('followers_changed', '*');
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
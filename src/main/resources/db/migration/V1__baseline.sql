@@ -0,0 +1,20 @@
+-- schema as created by db/db.sql before migrations were introduced; existing databases are baselined at this version
+
+CREATE TABLE USERS (
+	id bigserial not null primary key,
+	name varchar(100) not null,
+	age integer not null
+);
+
+CREATE TABLE POSTS (
+    id bigserial not null primary key,
+    post_text varchar(150) not null,
+    dateTime timestamp,
+    user_id bigint not null references USERS(id)
+);
+
+CREATE TABLE FOLLOWERS (
+	id bigserial not null primary key,
+	user_id bigint not null references USERS(id),
+	follower_id bigint not null references USERS(id)
+);
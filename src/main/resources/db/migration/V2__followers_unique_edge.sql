@@ -0,0 +1,11 @@
+-- one row per (user, follower) edge: drop duplicates left by the old check-then-insert, keeping the oldest
+DELETE FROM FOLLOWERS f
+USING FOLLOWERS older
+WHERE f.user_id = older.user_id
+  AND f.follower_id = older.follower_id
+  AND f.id > older.id;
+
+ALTER TABLE FOLLOWERS ADD CONSTRAINT uk_followers_user_follower UNIQUE (user_id, follower_id);
+
+-- the unique index serves lookups by user_id; this one serves "whom does X follow" and unfollows
+CREATE INDEX idx_followers_follower_id ON FOLLOWERS (follower_id);
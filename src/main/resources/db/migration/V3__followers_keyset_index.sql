@@ -0,0 +1,3 @@
+-- "whom does X follow" pages are keyset on the edge id, so the reverse index carries it too
+DROP INDEX idx_followers_follower_id;
+CREATE INDEX idx_followers_follower_id_id ON FOLLOWERS (follower_id, id);
@@ -0,0 +1,2 @@
+-- incremented on every follow/unfollow of the user; serves as the ETag of its follower listing
+ALTER TABLE USERS ADD COLUMN followers_version bigint not null default 0;
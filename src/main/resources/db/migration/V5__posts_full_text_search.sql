@@ -0,0 +1,6 @@
+-- full-text search over post text: a stored generated column keeps the vector in sync with every
+-- writer of post_text (entity persist, write-behind multi-row inserts, the reactive client)
+ALTER TABLE POSTS ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(post_text, ''))) STORED;
+
+CREATE INDEX idx_posts_search_vector ON POSTS USING GIN (search_vector);
@@ -0,0 +1,2 @@
+-- follower pages are keyset on the edge id; the unique (user_id, follower_id) index can't give that order
+CREATE INDEX idx_followers_user_id_id ON FOLLOWERS (user_id, id);
@@ -0,0 +1,51 @@
+-- posts become range-partitioned by month on dateTime, so listings only scan the recent months and old
+-- months can be detached whole instead of deleted row by row. Partitions are named posts_yYYYYmMM;
+-- PostPartitionMaintainer creates the upcoming ones and retires the expired ones from then on.
+-- The rows are copied once, in this migration's transaction.
+
+ALTER TABLE POSTS RENAME TO POSTS_UNPARTITIONED;
+ALTER INDEX posts_pkey RENAME TO posts_unpartitioned_pkey;
+ALTER INDEX idx_posts_search_vector RENAME TO idx_posts_unpartitioned_search_vector;
+
+-- the partition key has to be part of the primary key; ids stay unique through posts_id_seq.
+-- Posts without a dateTime predate the @PrePersist timestamp and are kept at the epoch
+CREATE TABLE POSTS (
+    id bigint not null default nextval('posts_id_seq'),
+    post_text varchar(150) not null,
+    dateTime timestamp not null default localtimestamp,
+    user_id bigint not null references USERS(id),
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('simple', coalesce(post_text, ''))) STORED,
+    primary key (id, dateTime)
+) PARTITION BY RANGE (dateTime);
+
+CREATE INDEX idx_posts_user_datetime_id ON POSTS (user_id, dateTime DESC, id DESC);
+CREATE INDEX idx_posts_search_vector ON POSTS USING GIN (search_vector);
+
+-- catches rows outside every monthly range (epoch rows, back-dated imports) instead of failing the insert
+CREATE TABLE POSTS_DEFAULT PARTITION OF POSTS DEFAULT;
+
+DO $$
+DECLARE
+    month date := coalesce(
+            (SELECT date_trunc('month', min(dateTime)) FROM POSTS_UNPARTITIONED WHERE dateTime IS NOT NULL),
+            date_trunc('month', localtimestamp))::date;
+    last_month date := (date_trunc('month', localtimestamp) + interval '3 months')::date;
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF POSTS FOR VALUES FROM (%L) TO (%L)',
+                'posts_y' || to_char(month, 'YYYY') || 'm' || to_char(month, 'MM'),
+                month, (month + interval '1 month')::date);
+        month := (month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO POSTS (id, post_text, dateTime, user_id)
+SELECT id, post_text, coalesce(dateTime, timestamp '1970-01-01'), user_id FROM POSTS_UNPARTITIONED;
+
+-- the bigserial sequence belongs to the old table's id and would go with it
+ALTER SEQUENCE posts_id_seq OWNED BY POSTS.id;
+
+DROP TABLE POSTS_UNPARTITIONED;
+
+-- detached partitions are moved here when the retention action is DETACH
+CREATE SCHEMA IF NOT EXISTS posts_archive;
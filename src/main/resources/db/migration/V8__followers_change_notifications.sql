@@ -0,0 +1,20 @@
+-- every committed follow/unfollow is announced on the followers_changed channel, whichever instance (or
+-- import) wrote it, so each instance's FollowGraph stays in step with the table. Payloads are
+-- '+<follower_id>:<user_id>' and '-<follower_id>:<user_id>'; '*' after a truncate means reload everything.
+CREATE OR REPLACE FUNCTION followers_notify_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('followers_changed', '+' || NEW.follower_id || ':' || NEW.user_id);
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('followers_changed', '-' || OLD.follower_id || ':' || OLD.user_id);
+    ELSE
+        PERFORM pg_notify('followers_changed', '*');
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER followers_notify_edge AFTER INSERT OR DELETE ON FOLLOWERS
+    FOR EACH ROW EXECUTE FUNCTION followers_notify_change();
+
+CREATE TRIGGER followers_notify_truncate AFTER TRUNCATE ON FOLLOWERS
+    FOR EACH STATEMENT EXECUTE FUNCTION followers_notify_change();
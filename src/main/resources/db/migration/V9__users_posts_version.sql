@@ -0,0 +1,5 @@
+-- incremented, and posts_changed_at stamped, whenever posts of the user are written or removed; serves as the
+-- ETag and Last-Modified of its post listing without aggregating over its posts
+ALTER TABLE USERS ADD COLUMN posts_version bigint not null default 0;
+ALTER TABLE USERS ADD COLUMN posts_changed_at timestamp;
+UPDATE USERS SET posts_changed_at = (SELECT max(p.dateTime) FROM POSTS p WHERE p.user_id = USERS.id);
@@ -0,0 +1,46 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * A throwaway PostgreSQL server for {@link PostgresProfile}, started from binaries on the test classpath so
+ * the profile runs wherever the build does, without a container runtime. The read datasource points at the
+ * same database.
+ */
+public class EmbeddedPostgresResource implements QuarkusTestResourceLifecycleManager {
+    private EmbeddedPostgres postgres;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch(IOException e) {
+            throw new UncheckedIOException("Could not start the embedded PostgreSQL", e);
+        }
+        String database = "localhost:" + postgres.getPort() + "/postgres";
+        return Map.of(
+                "quarkus.datasource.jdbc.url", "jdbc:postgresql://" + database + "?reWriteBatchedInserts=true",
+                "quarkus.datasource.reactive.url", "postgresql://" + database,
+                "quarkus.datasource.username", "postgres",
+                "quarkus.datasource.password", "postgres",
+                "quarkus.datasource.read.jdbc.url", "jdbc:postgresql://" + database,
+                "quarkus.datasource.read.username", "postgres",
+                "quarkus.datasource.read.password", "postgres");
+    }
+
+    @Override
+    public void stop() {
+        if(postgres != null) {
+            try {
+                postgres.close();
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
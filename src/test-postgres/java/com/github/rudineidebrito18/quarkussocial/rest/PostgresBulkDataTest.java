@@ -0,0 +1,167 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PostgresBulkDataTest {
+
+    @Test
+    @DisplayName("should import users through COPY and export them again")
+    void importExportUsersTest() {
+        given()
+                    .contentType("text/csv")
+                    .body("id,name,age,follower_count,following_count\n"
+                            + "700001,imported one,30,0,0\n"
+                            + "700002,imported two,31,0,0\n")
+                .when()
+                    .post("/admin/bulk/users")
+                .then()
+                    .statusCode(200)
+                    .body("rows", Matchers.is(2));
+
+        given()
+                .when()
+                    .get("/admin/bulk/users")
+                .then()
+                    .statusCode(200)
+                    .body(Matchers.containsString("700002,imported two,31,0,0"));
+    }
+
+    @Test
+    @DisplayName("should reject a malformed CSV as a whole")
+    void importMalformedTest() {
+        given()
+                    .contentType("text/csv")
+                    .body("id,name,age,follower_count,following_count\n"
+                            + "700101,fine,30,0,0\n"
+                            + "700102,broken,not-a-number,0,0\n")
+                .when()
+                    .post("/admin/bulk/users")
+                .then()
+                    .statusCode(400);
+
+        given()
+                .when()
+                    .get("/users/{id}/followers/count", 700101)
+                .then()
+                    .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("should allocate ids past the imported ones")
+    void importThenCreateTest() {
+        given()
+                    .contentType("text/csv")
+                    .body("id,name,age,follower_count,following_count\n800001,imported,30,0,0\n")
+                .when()
+                    .post("/admin/bulk/users")
+                .then()
+                    .statusCode(200);
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body("{\"name\":\"created\",\"age\":20}")
+                .when()
+                    .post("/users")
+                .then()
+                    .statusCode(201)
+                    .body("id", Matchers.greaterThan(800001));
+    }
+
+    @Test
+    @DisplayName("should count imported followers and change the followed user's listing tag")
+    void importFollowersTest() {
+        given()
+                    .contentType("text/csv")
+                    .body("id,name,age,follower_count,following_count\n"
+                            + "710001,followed,30,0,0\n"
+                            + "710002,follower,31,0,0\n")
+                .when()
+                    .post("/admin/bulk/users")
+                .then()
+                    .statusCode(200);
+
+        String before = given()
+                .when()
+                    .get("/users/{userId}/followers", 710001)
+                .then()
+                    .statusCode(200)
+                    .extract().header("ETag");
+
+        given()
+                    .contentType("text/csv")
+                    .body("id,user_id,follower_id\n710001,710001,710002\n")
+                .when()
+                    .post("/admin/bulk/followers")
+                .then()
+                    .statusCode(200)
+                    .body("rows", Matchers.is(1));
+
+        given()
+                    .header("If-None-Match", before)
+                .when()
+                    .get("/users/{userId}/followers", 710001)
+                .then()
+                    .statusCode(200)
+                    .header("ETag", Matchers.not(before))
+                    .body("followerCount", Matchers.is(1));
+    }
+
+    @Test
+    @DisplayName("should change the author's post listing tag on a posts import")
+    void importPostsTest() {
+        given()
+                    .contentType("text/csv")
+                    .body("id,name,age,follower_count,following_count\n"
+                            + "720001,author,30,0,0\n"
+                            + "720002,reader,31,0,0\n")
+                .when()
+                    .post("/admin/bulk/users")
+                .then()
+                    .statusCode(200);
+        given()
+                    .contentType("text/csv")
+                    .body("id,user_id,follower_id\n720001,720001,720002\n")
+                .when()
+                    .post("/admin/bulk/followers")
+                .then()
+                    .statusCode(200);
+
+        String before = given()
+                    .header("followerId", 720002)
+                .when()
+                    .get("/users/{userId}/posts", 720001)
+                .then()
+                    .statusCode(200)
+                    .extract().header("ETag");
+
+        given()
+                    .contentType("text/csv")
+                    .body("id,post_text,dateTime,user_id\n720001,imported post," + LocalDateTime.now() + ",720001\n")
+                .when()
+                    .post("/admin/bulk/posts")
+                .then()
+                    .statusCode(200)
+                    .body("rows", Matchers.is(1));
+
+        given()
+                    .header("followerId", 720002)
+                    .header("If-None-Match", before)
+                .when()
+                    .get("/users/{userId}/posts", 720001)
+                .then()
+                    .statusCode(200)
+                    .header("ETag", Matchers.not(before))
+                    .body("content[0].text", Matchers.is("imported post"));
+    }
+}
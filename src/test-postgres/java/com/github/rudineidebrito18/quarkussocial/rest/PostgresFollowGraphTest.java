@@ -0,0 +1,167 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.graph.FollowGraph;
+import com.github.rudineidebrito18.quarkussocial.domain.notification.NotificationOrigin;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.reactive.ReactiveDatabase;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreateUserRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.BooleanSupplier;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PostgresFollowGraphTest {
+    @Inject
+    FollowGraph followGraph;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    ReactiveDatabase reactiveDatabase;
+
+    @Inject
+    NotificationOrigin origin;
+
+    Long followerId;
+    Long userId;
+
+    @BeforeEach
+    void setUp() {
+        followerId = createUser("graph follower");
+        userId = createUser("graph followed");
+        awaitTrue(followGraph::isLoaded);
+    }
+
+    @Test
+    @DisplayName("should name the JDBC and reactive connections after this instance")
+    void applicationNameTest() throws SQLException {
+        try(Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement("select current_setting('application_name')");
+            ResultSet result = statement.executeQuery()) {
+            result.next();
+            assertEquals(origin.name(), result.getString(1));
+        }
+
+        String reactiveName = reactiveDatabase.pool()
+                .query("select current_setting('application_name')").execute()
+                .await().indefinitely()
+                .iterator().next().getString(0);
+        assertEquals(origin.name(), reactiveName);
+    }
+
+    @Test
+    @DisplayName("should apply this instance's follows and unfollows as soon as they commit")
+    void localChangesTest() {
+        var follow = new FollowerRequest();
+        follow.setFollowerId(followerId);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(follow)
+                .when()
+                    .put("/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(204);
+        assertTrue(followGraph.follows(followerId, userId));
+
+        given()
+                    .queryParam("followerId", followerId)
+                .when()
+                    .delete("/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(204);
+        assertFalse(followGraph.follows(followerId, userId));
+    }
+
+    @Test
+    @DisplayName("should stop answering for an edge deleted behind the API, e.g. by another instance")
+    void edgeDeletedElsewhereTest() throws SQLException {
+        var follow = new FollowerRequest();
+        follow.setFollowerId(followerId);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(follow)
+                .when()
+                    .put("/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(204);
+        awaitTrue(() -> followGraph.follows(followerId, userId));
+
+        execute("delete from followers where follower_id = ? and user_id = ?");
+        awaitTrue(() -> !followGraph.follows(followerId, userId));
+
+        given()
+                    .header("followerId", followerId)
+                .when()
+                    .get("/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(403);
+    }
+
+    @Test
+    @DisplayName("should pick up an edge inserted behind the API")
+    void edgeInsertedElsewhereTest() throws SQLException {
+        execute("insert into followers (follower_id, user_id) values (?, ?)");
+        awaitTrue(() -> followGraph.follows(followerId, userId));
+
+        given()
+                    .header("followerId", followerId)
+                .when()
+                    .get("/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(200);
+    }
+
+    /**
+     * As another instance would: under an application name of its own.
+     */
+    private void execute(String sql) throws SQLException {
+        try(Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setClientInfo("ApplicationName", "another instance");
+            statement.setLong(1, followerId);
+            statement.setLong(2, userId);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while(!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static Long createUser(String name) {
+        var user = new CreateUserRequest();
+        user.setName(name);
+        user.setAge(30);
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                .when()
+                    .post("/users")
+                .then()
+                    .statusCode(201)
+                    .extract().path("id");
+        return id.longValue();
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreateUserRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Follows against the migrated schema, where the unique edge comes from V2 rather than from the entity.
+ */
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PostgresFollowerTest {
+
+    @Test
+    @DisplayName("should keep one edge and one count when the same follow is sent twice")
+    void repeatedFollowTest() {
+        Long userId = createUser("followed twice");
+        Long followerId = createUser("eager follower");
+
+        var follow = new FollowerRequest();
+        follow.setFollowerId(followerId);
+        for(int i = 0; i < 2; i++) {
+            given()
+                        .contentType(ContentType.JSON)
+                        .body(follow)
+                    .when()
+                        .put("/users/{userId}/followers", userId)
+                    .then()
+                        .statusCode(204);
+        }
+
+        given()
+                .when()
+                    .get("/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(200)
+                    .body("followerCount", Matchers.is(1))
+                    .body("content.size()", Matchers.is(1));
+    }
+
+    private static Long createUser(String name) {
+        var user = new CreateUserRequest();
+        user.setName(name);
+        user.setAge(30);
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                .when()
+                    .post("/users")
+                .then()
+                    .statusCode(201)
+                    .extract().path("id");
+        return id.longValue();
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PostgresMigrationTest {
+    @Inject
+    Flyway flyway;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Test
+    @DisplayName("should apply every migration to an empty database")
+    void migrationsTest() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertTrue(applied.length > 0);
+        for(MigrationInfo migration : applied) {
+            assertEquals(MigrationState.SUCCESS, migration.getState(), migration.getScript());
+        }
+        assertEquals(0, flyway.info().pending().length);
+        assertTrue(flyway.validateWithResult().validationSuccessful);
+    }
+
+    @Test
+    @DisplayName("should leave the baseline's bigserial sequences stepping by the allocation size")
+    void pooledSequencesTest() throws SQLException {
+        try(Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet result = statement.executeQuery("select sequencename, increment_by from pg_sequences"
+                    + " where sequencename in ('users_id_seq', 'posts_id_seq', 'followers_id_seq')")) {
+            int sequences = 0;
+            while(result.next()) {
+                assertEquals(50, result.getLong("increment_by"), result.getString("sequencename"));
+                sequences++;
+            }
+            assertEquals(3, sequences);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.partition.PostPartitionMaintainer;
+import com.github.rudineidebrito18.quarkussocial.domain.partition.PostPartitionMaintainer.RetentionAction;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreateUserRequest;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PostgresPartitionTest {
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'posts_y'uuuu'm'MM");
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    Long userId;
+
+    @BeforeEach
+    void setUp() {
+        var user = new CreateUserRequest();
+        user.setName("partitioned author");
+        user.setAge(30);
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                .when()
+                    .post("/users")
+                .then()
+                    .statusCode(201)
+                    .extract().path("id");
+        userId = id.longValue();
+    }
+
+    @Test
+    @DisplayName("should move rows out of posts_default into a month's partition when it is created")
+    void createPartitionOverDefaultRowsTest() throws SQLException {
+        YearMonth month = YearMonth.from(single("select cast(localtimestamp as date)", ResultSet::getDate).toLocalDate())
+                .plusMonths(6);
+        long postId = insertPost(month.atDay(15).atStartOfDay());
+        assertEquals("posts_default", partitionOf(postId));
+
+        maintainer(7, 0).maintain();
+
+        assertEquals(month.format(PARTITION_NAME), partitionOf(postId));
+    }
+
+    @Test
+    @DisplayName("should detach months past retention into the archive schema and bump their authors' posts version")
+    void retirePartitionTest() throws SQLException {
+        try(Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table posts_y2001m01 partition of posts for values from ('2001-01-01') to ('2001-02-01')");
+        }
+        long postId = insertPost(LocalDateTime.of(2001, 1, 15, 12, 0));
+        String postsVersion = "select posts_version from users where id = " + userId;
+        long versionBefore = single(postsVersion, ResultSet::getLong);
+
+        maintainer(3, 12).maintain();
+
+        assertEquals(Long.valueOf(0), single("select count(*) from posts where id = " + postId, ResultSet::getLong));
+        assertEquals(Long.valueOf(versionBefore + 1), single(postsVersion, ResultSet::getLong));
+        assertEquals(Long.valueOf(1), single("select count(*) from posts_archive.posts_y2001m01 where id = " + postId, ResultSet::getLong));
+    }
+
+    private PostPartitionMaintainer maintainer(int monthsAhead, int retentionMonths) {
+        return new PostPartitionMaintainer(dataSource, true, monthsAhead, retentionMonths, RetentionAction.DETACH,
+                "posts_archive", Duration.ofSeconds(5));
+    }
+
+    private long insertPost(LocalDateTime dateTime) throws SQLException {
+        try(Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(
+                    "insert into posts (post_text, dateTime, user_id) values (?, ?, ?) returning id")) {
+            statement.setString(1, "partitioned");
+            statement.setTimestamp(2, Timestamp.valueOf(dateTime));
+            statement.setLong(3, userId);
+            try(ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    private String partitionOf(long postId) throws SQLException {
+        return single("select tableoid::regclass::text from posts where id = " + postId, ResultSet::getString);
+    }
+
+    private <T> T single(String sql, Column<T> column) throws SQLException {
+        try(Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return column.read(result, 1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Column<T> {
+        T read(ResultSet result, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The production setup on PostgreSQL: schema from the Flyway migrations, partition maintenance and the
+ * reactive client on, bulk COPY endpoints open. See {@link EmbeddedPostgresResource}.
+ */
+public class PostgresProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.datasource.db-kind", "postgresql",
+                "quarkus.datasource.reactive", "true",
+                "quarkus.datasource.read.db-kind", "postgresql",
+                "quarkus.hibernate-orm.database.generation", "none",
+                "quarkus.flyway.migrate-at-start", "true",
+                "social.posts.partitions.enabled", "true",
+                "social.admin.bulk.enabled", "true");
+    }
+
+    @Override
+    public List<TestResourceEntry> testResources() {
+        return List.of(new TestResourceEntry(EmbeddedPostgresResource.class));
+    }
+}
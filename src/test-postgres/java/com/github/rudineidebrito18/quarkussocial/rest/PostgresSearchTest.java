@@ -0,0 +1,115 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreateUserRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PostgresSearchTest {
+    Long readerId;
+    Long followedId;
+    Long strangerId;
+
+    @BeforeEach
+    void setUp() {
+        readerId = createUser("reader");
+        followedId = createUser("followed");
+        strangerId = createUser("stranger");
+
+        var follow = new FollowerRequest();
+        follow.setFollowerId(readerId);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(follow)
+                .when()
+                    .put("/users/{userId}/followers", followedId)
+                .then()
+                    .statusCode(204);
+
+        createPost(followedId, "searching posts with postgres full text");
+        createPost(followedId, "nothing to see here");
+        createPost(strangerId, "postgres from someone the reader doesn't follow");
+    }
+
+    @Test
+    @DisplayName("should find matching posts of followed accounts only")
+    void searchFollowedTest() {
+        given()
+                    .queryParam("q", "postgres")
+                    .header("followerId", readerId)
+                .when()
+                    .get("/posts/search")
+                .then()
+                    .statusCode(200)
+                    .body("content.size()", Matchers.is(1))
+                    .body("content[0].userId", Matchers.is(followedId.intValue()))
+                    .body("content[0].text", Matchers.containsString("full text"));
+    }
+
+    @Test
+    @DisplayName("should page search results with a cursor")
+    void searchPagedTest() {
+        createPost(followedId, "more about postgres");
+
+        String next = given()
+                    .queryParam("q", "postgres")
+                    .queryParam("limit", 1)
+                    .header("followerId", readerId)
+                .when()
+                    .get("/posts/search")
+                .then()
+                    .statusCode(200)
+                    .body("content.size()", Matchers.is(1))
+                    .body("next", Matchers.notNullValue())
+                    .extract().path("next");
+
+        given()
+                    .queryParam("q", "postgres")
+                    .queryParam("limit", 1)
+                    .queryParam("cursor", next)
+                    .header("followerId", readerId)
+                .when()
+                    .get("/posts/search")
+                .then()
+                    .statusCode(200)
+                    .body("content.size()", Matchers.is(1))
+                    .body("next", Matchers.nullValue());
+    }
+
+    private static Long createUser(String name) {
+        var user = new CreateUserRequest();
+        user.setName(name);
+        user.setAge(30);
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                .when()
+                    .post("/users")
+                .then()
+                    .statusCode(201)
+                    .extract().path("id");
+        return id.longValue();
+    }
+
+    private static void createPost(Long userId, String text) {
+        var post = new CreatePostRequest();
+        post.setText(text);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(post)
+                .when()
+                    .post("/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(201);
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.graph.FollowGraph;
+import com.github.rudineidebrito18.quarkussocial.domain.timeline.TimelineStore;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreateUserRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rows written behind the API, under an application name of their own, stand in for another instance's writes.
+ */
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PostgresTimelineTest {
+    @Inject
+    TimelineStore timelineStore;
+
+    @Inject
+    FollowGraph followGraph;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    Long readerId;
+    Long authorId;
+
+    @BeforeEach
+    void setUp() {
+        readerId = createUser("timeline reader");
+        authorId = createUser("timeline author");
+        awaitTrue(followGraph::isLoaded);
+
+        follow(readerId, authorId);
+        // the fence's notification comes in a later batch, so the reader's has been handled in full by then,
+        // timeline eviction included
+        Long fenceId = createUser("timeline fence");
+        follow(fenceId, authorId);
+
+        given()
+                .when()
+                    .get("/users/{userId}/feed", readerId)
+                .then()
+                    .statusCode(200);
+    }
+
+    @Test
+    @DisplayName("should push a post written elsewhere into the timelines held here")
+    void postWrittenElsewhereTest() throws SQLException {
+        long postId;
+        try(Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(
+                    "insert into posts (post_text, user_id) values ('written elsewhere', ?) returning id")) {
+            statement.setLong(1, authorId);
+            try(ResultSet result = statement.executeQuery()) {
+                result.next();
+                postId = result.getLong(1);
+            }
+        }
+
+        awaitTrue(() -> Arrays.stream(timelineStore.latest(readerId, 10)).anyMatch(id -> id == postId));
+    }
+
+    @Test
+    @DisplayName("should drop the timeline of a reader who unfollowed elsewhere")
+    void unfollowedElsewhereTest() throws SQLException {
+        assertTrue(timelineStore.contains(readerId));
+
+        try(Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(
+                    "delete from followers where follower_id = ? and user_id = ?")) {
+            connection.setClientInfo("ApplicationName", "another instance");
+            statement.setLong(1, readerId);
+            statement.setLong(2, authorId);
+            statement.executeUpdate();
+        }
+
+        awaitTrue(() -> !timelineStore.contains(readerId));
+    }
+
+    private void follow(Long followerId, Long userId) {
+        var follow = new FollowerRequest();
+        follow.setFollowerId(followerId);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(follow)
+                .when()
+                    .put("/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(204);
+        awaitTrue(() -> followGraph.follows(followerId, userId));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while(!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static Long createUser(String name) {
+        var user = new CreateUserRequest();
+        user.setName(name);
+        user.setAge(30);
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                .when()
+                    .post("/users")
+                .then()
+                    .statusCode(201)
+                    .extract().path("id");
+        return id.longValue();
+    }
+}
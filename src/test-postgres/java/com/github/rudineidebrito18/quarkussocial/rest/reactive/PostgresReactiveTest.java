@@ -0,0 +1,170 @@
+package com.github.rudineidebrito18.quarkussocial.rest.reactive;
+
+import com.github.rudineidebrito18.quarkussocial.rest.PostgresProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PostgresReactiveTest {
+
+    @Test
+    @DisplayName("should create, follow and list through the reactive client")
+    void reactiveRoundTripTest() {
+        Number userId = given()
+                    .contentType(ContentType.JSON)
+                    .body("{\"name\":\"reactive user\",\"age\":30}")
+                .when()
+                    .post("/reactive/users")
+                .then()
+                    .statusCode(201)
+                    .extract().path("id");
+        Number followerId = given()
+                    .contentType(ContentType.JSON)
+                    .body("{\"name\":\"reactive follower\",\"age\":31}")
+                .when()
+                    .post("/reactive/users")
+                .then()
+                    .statusCode(201)
+                    .extract().path("id");
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body("{\"followerId\":" + followerId + "}")
+                .when()
+                    .put("/reactive/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(204);
+
+        given()
+                .when()
+                    .get("/reactive/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(200)
+                    .body("followerCount", Matchers.is(1))
+                    .body("content[0].name", Matchers.is("reactive follower"));
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body("{\"text\":\"written without blocking\"}")
+                .when()
+                    .post("/reactive/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(201);
+
+        given()
+                    .header("followerId", followerId)
+                .when()
+                    .get("/reactive/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(200)
+                    .body("content[0].text", Matchers.is("written without blocking"));
+    }
+
+    @Test
+    @DisplayName("should make reactive follows visible to the blocking resources, which read users through their caches")
+    void reactiveFollowEvictsCachedUsersTest() {
+        Number userId = createUser("cached followed");
+        Number followerId = createUser("cached follower");
+        given()
+                    .queryParam("countOnly", true)
+                .when()
+                    .get("/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(200)
+                    .body("followerCount", Matchers.is(0));
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body("{\"followerId\":" + followerId + "}")
+                .when()
+                    .put("/reactive/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(204);
+
+        given()
+                    .queryParam("countOnly", true)
+                .when()
+                    .get("/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(200)
+                    .body("followerCount", Matchers.is(1));
+    }
+
+    @Test
+    @DisplayName("should make a reactive delete visible to the blocking resources")
+    void reactiveDeleteEvictsCachedUserTest() {
+        Number userId = createUser("cached deleted");
+        given()
+                .when()
+                    .get("/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(400);
+
+        given()
+                .when()
+                    .delete("/reactive/users/{id}", userId)
+                .then()
+                    .statusCode(204);
+
+        given()
+                .when()
+                    .get("/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("should page the reactive follower listing on afterId and limit")
+    void reactiveFollowerPagingTest() {
+        Number userId = createUser("paged followed");
+        for(int i = 0; i < 3; i++) {
+            Number followerId = createUser("paged follower " + i);
+            given()
+                        .contentType(ContentType.JSON)
+                        .body("{\"followerId\":" + followerId + "}")
+                    .when()
+                        .put("/reactive/users/{userId}/followers", userId)
+                    .then()
+                        .statusCode(204);
+        }
+
+        Number next = given()
+                    .queryParam("limit", 2)
+                .when()
+                    .get("/reactive/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(200)
+                    .body("followerCount", Matchers.is(3))
+                    .body("content.name", Matchers.contains("paged follower 0", "paged follower 1"))
+                    .body("next", Matchers.notNullValue())
+                    .extract().path("next");
+
+        given()
+                    .queryParam("limit", 2)
+                    .queryParam("afterId", next)
+                .when()
+                    .get("/reactive/users/{userId}/followers", userId)
+                .then()
+                    .statusCode(200)
+                    .body("content.name", Matchers.contains("paged follower 2"))
+                    .body("next", Matchers.nullValue());
+    }
+
+    private static Number createUser(String name) {
+        return given()
+                    .contentType(ContentType.JSON)
+                    .body("{\"name\":\"" + name + "\",\"age\":30}")
+                .when()
+                    .post("/reactive/users")
+                .then()
+                    .statusCode(201)
+                    .extract().path("id");
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.rudineidebrito18.quarkussocial.domain.repository;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.routing.DataSourceRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class UserCacheTest {
+    @Inject
+    DataSourceRouting routing;
+    @Inject
+    MeterRegistry registry;
+
+    @Test
+    @DisplayName("should serve a loaded user from the cache afterwards")
+    void cachedAfterLoadTest() {
+        AtomicInteger loads = new AtomicInteger();
+        UserCache cache = new UserCache(new StubUserRepository(loads, null), routing, registry, 100, Duration.ofMinutes(5));
+
+        cache.findById(1L);
+        cache.findById(1L);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("should not cache a user whose row changed while it was being read")
+    void staleLoadNotCachedTest() {
+        AtomicInteger loads = new AtomicInteger();
+        UserCache[] cache = new UserCache[1];
+        // the change commits, and drops the entry, while the old row is in flight
+        cache[0] = new UserCache(new StubUserRepository(loads, id -> cache[0].invalidate(id)), routing, registry,
+                100, Duration.ofMinutes(5));
+
+        cache[0].findById(1L);
+        cache[0].findById(1L);
+
+        assertEquals(2, loads.get());
+    }
+
+    static class StubUserRepository extends UserRepository {
+        private final AtomicInteger loads;
+        private final Consumer<Long> duringLoad;
+
+        StubUserRepository(AtomicInteger loads, Consumer<Long> duringLoad) {
+            this.loads = loads;
+            this.duringLoad = duringLoad;
+        }
+
+        @Override
+        public User findById(Long id) {
+            loads.incrementAndGet();
+            User user = new User();
+            user.setId(id);
+            user.setName("before");
+            if(duringLoad != null) {
+                duringLoad.accept(id);
+            }
+            return user;
+        }
+    }
+}
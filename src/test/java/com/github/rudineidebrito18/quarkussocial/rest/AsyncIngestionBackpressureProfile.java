@@ -0,0 +1,16 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+public class AsyncIngestionBackpressureProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "social.posts.ingestion.mode", "async",
+                "social.posts.ingestion.queue-capacity", "2",
+                "social.posts.ingestion.batch-size", "100",
+                "social.posts.ingestion.flush-interval", "PT1H");
+    }
+}
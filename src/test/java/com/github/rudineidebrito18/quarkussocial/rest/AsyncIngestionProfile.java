@@ -0,0 +1,14 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+public class AsyncIngestionProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "social.posts.ingestion.mode", "async",
+                "social.posts.ingestion.flush-interval", "PT0.05S");
+    }
+}
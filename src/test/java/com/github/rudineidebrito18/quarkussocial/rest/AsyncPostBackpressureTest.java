@@ -0,0 +1,60 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestProfile(AsyncIngestionBackpressureProfile.class)
+@TestHTTPEndpoint(PostResource.class)
+class AsyncPostBackpressureTest {
+    @Inject
+    UserRepository userRepository;
+
+    Long userId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("busy writer");
+        userRepository.persist(user);
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("should answer 429 once the ingestion queue is full")
+    void queueFullTest() {
+        post("first").statusCode(202);
+        post("second").statusCode(202);
+        post("third")
+                .statusCode(429)
+                .header("Retry-After", Matchers.notNullValue());
+    }
+
+    private ValidatableResponse post(String text) {
+        var request = new CreatePostRequest();
+        request.setText(text);
+        return given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .pathParams("userId", userId)
+                .when()
+                    .post()
+                .then();
+    }
+}
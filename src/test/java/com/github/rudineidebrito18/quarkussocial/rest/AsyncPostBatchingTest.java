@@ -0,0 +1,81 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(AsyncIngestionBatchingProfile.class)
+@TestHTTPEndpoint(PostResource.class)
+class AsyncPostBatchingTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    PostRepository postRepository;
+
+    Long userId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("batch writer");
+        userRepository.persist(user);
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("should hold posts until a full batch is queued and then write them together")
+    void fullBatchTest() throws InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        ids.add(post("first"));
+        ids.add(post("second"));
+
+        Thread.sleep(300);
+        assertEquals(0, stored(ids), "posts were written before the batch was full");
+
+        ids.add(post("third"));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while(stored(ids) < ids.size() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(3, stored(ids));
+    }
+
+    private Long post(String text) {
+        var request = new CreatePostRequest();
+        request.setText(text);
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .pathParams("userId", userId)
+                .when()
+                    .post()
+                .then()
+                    .statusCode(202)
+                    .extract().path("id");
+        return id.longValue();
+    }
+
+    private long stored(List<Long> ids) {
+        return QuarkusTransaction.requiringNew().call(() -> postRepository.count("id in ?1", ids));
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.ingestion.PostIngestion;
+import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.timeline.TimelineStore;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.ResponseError;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(AsyncIngestionProfile.class)
+@TestHTTPEndpoint(PostResource.class)
+class AsyncPostIngestionTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    PostRepository postRepository;
+    @Inject
+    FollowerRepository followerRepository;
+    @Inject
+    TimelineStore timelineStore;
+    @Inject
+    PostIngestion ingestion;
+
+    Long userId;
+    Long readerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("writer");
+        userRepository.persist(user);
+        userId = user.getId();
+
+        var reader = new User();
+        reader.setAge(31);
+        reader.setName("reader");
+        userRepository.persist(reader);
+        readerId = reader.getId();
+
+        var follower = new Follower();
+        follower.setUser(user);
+        follower.setFollower(reader);
+        followerRepository.persist(follower);
+    }
+
+    @Test
+    @DisplayName("should accept a post with its final id and write it shortly after")
+    void acceptPostTest() throws InterruptedException {
+        var request = new CreatePostRequest();
+        request.setText("written behind");
+
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .pathParams("userId", userId)
+                .when()
+                    .post()
+                .then()
+                    .statusCode(202)
+                    .body("text", Matchers.is("written behind"))
+                    .extract().path("id");
+
+        assertTrue(awaitStored(id.longValue()), "queued post was not written");
+    }
+
+    @Test
+    @DisplayName("should reject an invalid post before queueing it and still write the next one")
+    void invalidPostTest() throws InterruptedException {
+        var request = new CreatePostRequest();
+        request.setText("x".repeat(151));
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .pathParams("userId", userId)
+                .when()
+                    .post()
+                .then()
+                    .statusCode(ResponseError.UNPROCESSABLE_ENTITY_STATUS)
+                    .body("errors.field", Matchers.hasItem("text"));
+
+        assertTrue(awaitStored(acceptValidPost()), "valid post after an invalid one was not written");
+    }
+
+    @Test
+    @DisplayName("should drop a queued post the database rejects instead of retrying it ahead of the others")
+    void rejectedPostDroppedTest() throws InterruptedException {
+        Long rejectedId = QuarkusTransaction.requiringNew().call(() -> ingestion.offer(userId, null).getId());
+
+        assertTrue(awaitStored(acceptValidPost()), "post queued behind a rejected one was not written");
+        assertNull(QuarkusTransaction.requiringNew().call(() -> postRepository.findById(rejectedId)));
+    }
+
+    @Test
+    @DisplayName("should still return 404 for a nonexistent user")
+    void unknownUserTest() {
+        var request = new CreatePostRequest();
+        request.setText("nobody");
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .pathParams("userId", 99999)
+                .when()
+                    .post()
+                .then()
+                    .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("should push a queued post into followers' timelines once it is written")
+    void fanOutAfterWriteTest() throws InterruptedException {
+        given()
+                    .basePath("/users/{userId}/feed")
+                    .pathParams("userId", readerId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200);
+
+        var request = new CreatePostRequest();
+        request.setText("fanned out");
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .pathParams("userId", userId)
+                .when()
+                    .post()
+                .then()
+                    .statusCode(202)
+                    .extract().path("id");
+
+        long postId = id.longValue();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while(!pushed(postId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(pushed(postId), "written post was not pushed to the follower's timeline");
+    }
+
+    private Long acceptValidPost() {
+        var request = new CreatePostRequest();
+        request.setText("valid");
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .pathParams("userId", userId)
+                .when()
+                    .post()
+                .then()
+                    .statusCode(202)
+                    .extract().path("id");
+        return id.longValue();
+    }
+
+    private boolean awaitStored(Long postId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        boolean stored = false;
+        while(!stored && System.currentTimeMillis() < deadline) {
+            stored = QuarkusTransaction.requiringNew().call(() -> postRepository.findById(postId) != null);
+            if(!stored) {
+                Thread.sleep(50);
+            }
+        }
+        return stored;
+    }
+
+    private boolean pushed(long postId) {
+        return Arrays.stream(timelineStore.latest(readerId, 10)).anyMatch(id -> id == postId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * COPY needs PostgreSQL, so the H2 test profile only covers the endpoint staying closed by default.
+ */
+@QuarkusTest
+class BulkDataResourceTest {
+
+    @Test
+    @DisplayName("should return 404 on export while bulk endpoints are disabled")
+    void exportDisabledTest() {
+        given()
+                .when()
+                .get("/admin/bulk/users")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("should return 404 on import while bulk endpoints are disabled")
+    void importDisabledTest() {
+        given()
+                .contentType("text/csv")
+                .body("id,name,age,follower_count,following_count\n1,someone,30,0,0\n")
+                .when()
+                .post("/admin/bulk/users")
+                .then()
+                .statusCode(404);
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
+import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.timeline.TimelineStore;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestHTTPEndpoint(FeedResource.class)
+class FeedResourceTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    FollowerRepository followerRepository;
+    @Inject
+    PostRepository postRepository;
+    @Inject
+    TimelineStore timelineStore;
+
+    Long authorId;
+    Long readerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var author = new User();
+        author.setAge(30);
+        author.setName("author");
+        userRepository.persist(author);
+        authorId = author.getId();
+
+        var reader = new User();
+        reader.setAge(31);
+        reader.setName("reader");
+        userRepository.persist(reader);
+        readerId = reader.getId();
+
+        Post post = new Post();
+        post.setText("hello followers");
+        post.setUser(author);
+        postRepository.persist(post);
+
+        Follower follower = new Follower();
+        follower.setUser(author);
+        follower.setFollower(reader);
+        followerRepository.persist(follower);
+    }
+
+    @Test
+    @DisplayName("should return 404 when reader doesn't exist")
+    public void feedUserNotFoundTest() {
+        given()
+                    .pathParams("userId", 9999)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("should return posts of followed accounts")
+    public void homeFeedTest() {
+        given()
+                    .pathParams("userId", readerId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .body("size()", Matchers.is(1))
+                    .body("[0].text", Matchers.is("hello followers"))
+                    .body("[0].userId", Matchers.is(authorId.intValue()));
+    }
+
+    @Test
+    @DisplayName("should push a new post into the timelines of followers who already read their feed")
+    public void fanOutOnWriteTest() {
+        given()
+                    .pathParams("userId", readerId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .body("size()", Matchers.is(1));
+
+        var post = new CreatePostRequest();
+        post.setText("pushed on write");
+        given()
+                    .basePath("/users/{userId}/posts")
+                    .pathParams("userId", authorId)
+                    .contentType(ContentType.JSON)
+                    .body(post)
+                .when()
+                    .post()
+                .then()
+                    .statusCode(201);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while(timelineStore.latest(readerId, 10).length < 2 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(2, timelineStore.latest(readerId, 10).length);
+
+        given()
+                    .pathParams("userId", readerId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .body("size()", Matchers.is(2))
+                    .body("[0].text", Matchers.is("pushed on write"));
+    }
+
+    @Test
+    @DisplayName("should list a post once when its author is merged in at read time as well")
+    public void largeAuthorPostListedOnceTest() {
+        given()
+                    .pathParams("userId", readerId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .body("size()", Matchers.is(1));
+
+        timelineStore.markLargeAuthor(authorId);
+        try {
+            given()
+                        .pathParams("userId", readerId)
+                    .when()
+                        .get()
+                    .then()
+                        .statusCode(200)
+                        .body("size()", Matchers.is(1))
+                        .body("[0].text", Matchers.is("hello followers"));
+        } finally {
+            timelineStore.unmarkLargeAuthor(authorId);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep a timeline newest first by post time, whatever the ids")
+    public void timelineOrderedByTimeTest() {
+        Number postId = given()
+                    .pathParams("userId", readerId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .extract().path("[0].id");
+
+        // ids come in per-instance blocks: a higher id can be older than a lower one
+        timelineStore.push(readerId, Long.MAX_VALUE, LocalDateTime.of(2000, 1, 1, 0, 0));
+        timelineStore.push(readerId, Long.MAX_VALUE - 1, LocalDateTime.now().plusHours(1));
+
+        assertArrayEquals(new long[]{Long.MAX_VALUE - 1, postId.longValue(), Long.MAX_VALUE},
+                timelineStore.latest(readerId, 10));
+    }
+}
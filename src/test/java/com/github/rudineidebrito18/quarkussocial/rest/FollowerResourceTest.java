@@ -1,17 +1,25 @@
 package com.github.rudineidebrito18.quarkussocial.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
 import com.github.rudineidebrito18.quarkussocial.domain.model.User;
 import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
 import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.encoding.CborMessageBodyWriter;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.*;
 
 import java.util.List;
@@ -26,6 +34,8 @@ class FollowerResourceTest {
     UserRepository userRepository;
     @Inject
     FollowerRepository followerRepository;
+    @Inject
+    SessionFactory sessionFactory;
 
     Long userId;
     Long followerId;
@@ -74,7 +84,7 @@ class FollowerResourceTest {
         var body = new FollowerRequest();
         body.setFollowerId(userId);
 
-        var nonexistentUserId = 200;
+        var nonexistentUserId = 99999;
 
         given()
                     .contentType(ContentType.JSON)
@@ -105,7 +115,7 @@ class FollowerResourceTest {
     @Test
     @DisplayName("should return 404 on list user followers and User id don't exit")
     public void userNotFoundWhenListingFollowersTest() {
-        var nonexistentUserId = 200;
+        var nonexistentUserId = 99999;
 
         given()
                     .contentType(ContentType.JSON)
@@ -138,7 +148,7 @@ class FollowerResourceTest {
     @Test
     @DisplayName("should return 404 on unfollow user and user id don't exist")
     public void userNotFoundWhenUnfollowAUserTest() {
-        var nonexistentUserId = 200;
+        var nonexistentUserId = 99999;
 
         given()
                     .pathParams("userId", nonexistentUserId)
@@ -160,4 +170,450 @@ class FollowerResourceTest {
                 .then()
                 .statusCode(Response.Status.NO_CONTENT.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should stop showing posts right after an unfollow")
+    public void unfollowRevokesPostAccessTest() {
+        Long newFollowerId = QuarkusTransaction.requiringNew().call(() -> {
+            var user = new User();
+            user.setAge(33);
+            user.setName("test3");
+            userRepository.persist(user);
+            return user.getId();
+        });
+
+        var body = new FollowerRequest();
+        body.setFollowerId(newFollowerId);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .pathParams("userId", userId)
+                .when()
+                    .put()
+                .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given()
+                    .basePath("")
+                    .header("followerId", newFollowerId)
+                .when()
+                    .get("/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode());
+
+        given()
+                    .pathParams("userId", userId)
+                    .queryParam("followerId", newFollowerId)
+                .when()
+                    .delete()
+                .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given()
+                    .basePath("")
+                    .header("followerId", newFollowerId)
+                .when()
+                    .get("/users/{userId}/posts", userId)
+                .then()
+                    .statusCode(Response.Status.FORBIDDEN.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("should list followers with a constant number of SQL statements")
+    public void listFollowersStatementCountTest() {
+        long withOneFollower = statementsToListFollowers();
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            var user = userRepository.findById(userId);
+            for(int i = 0; i < 5; i++) {
+                var follower = new User();
+                follower.setAge(20 + i);
+                follower.setName("follower" + i);
+                userRepository.persist(follower);
+
+                var followerEntity = new Follower();
+                followerEntity.setFollower(follower);
+                followerEntity.setUser(user);
+                followerRepository.persist(followerEntity);
+            }
+        });
+
+        long withSixFollowers = statementsToListFollowers();
+
+        assertEquals(withOneFollower, withSixFollowers);
+    }
+
+    private long statementsToListFollowers() {
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        given()
+                    .pathParams("userId", userId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("should keep follower counters up to date")
+    public void followerCountersTest() {
+        Long newFollowerId = QuarkusTransaction.requiringNew().call(() -> {
+            var user = new User();
+            user.setAge(35);
+            user.setName("test4");
+            userRepository.persist(user);
+            return user.getId();
+        });
+
+        var body = new FollowerRequest();
+        body.setFollowerId(newFollowerId);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .pathParams("userId", userId)
+                .when()
+                    .put()
+                .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given()
+                    .pathParams("userId", newFollowerId)
+                .when()
+                    .get("/count")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followerCount", Matchers.is(0))
+                    .body("followingCount", Matchers.is(1));
+
+        given()
+                    .pathParams("userId", userId)
+                    .queryParam("countOnly", true)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followerCount", Matchers.is(1))
+                    .body("content", Matchers.nullValue());
+    }
+
+    @Test
+    @DisplayName("should only drop the users at both ends of a follow from the second-level cache")
+    public void followEvictsOnlyItsUsersTest() {
+        Long newFollowerId = QuarkusTransaction.requiringNew().call(() -> {
+            var user = new User();
+            user.setAge(35);
+            user.setName("test5");
+            userRepository.persist(user);
+            return user.getId();
+        });
+        QuarkusTransaction.requiringNew().run(() -> List.of(userId, followerId, newFollowerId)
+                .forEach(userRepository::findById));
+        assertTrue(sessionFactory.getCache().contains(User.class, followerId));
+
+        var body = new FollowerRequest();
+        body.setFollowerId(newFollowerId);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .pathParams("userId", userId)
+                .when()
+                    .put()
+                .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        assertFalse(sessionFactory.getCache().contains(User.class, userId));
+        assertFalse(sessionFactory.getCache().contains(User.class, newFollowerId));
+        assertTrue(sessionFactory.getCache().contains(User.class, followerId));
+    }
+
+    @Test
+    @DisplayName("should keep a single edge when the same follow is sent twice")
+    public void followTwiceIsIdempotentTest() {
+        Long newFollowerId = QuarkusTransaction.requiringNew().call(() -> {
+            var user = new User();
+            user.setAge(36);
+            user.setName("test5");
+            userRepository.persist(user);
+            return user.getId();
+        });
+
+        var body = new FollowerRequest();
+        body.setFollowerId(newFollowerId);
+        for(int i = 0; i < 2; i++) {
+            given()
+                        .contentType(ContentType.JSON)
+                        .body(body)
+                        .pathParams("userId", userId)
+                    .when()
+                        .put()
+                    .then()
+                        .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+        }
+
+        given()
+                    .pathParams("userId", newFollowerId)
+                .when()
+                    .get("/count")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followingCount", Matchers.is(1));
+
+        long edges = QuarkusTransaction.requiringNew().call(() ->
+                followerRepository.count("follower.id = ?1 and user.id = ?2", newFollowerId, userId));
+        assertEquals(1, edges);
+    }
+
+    @Test
+    @DisplayName("should answer 304 until someone follows or unfollows")
+    public void listFollowersNotModifiedTest() {
+        String etag = given()
+                    .pathParams("userId", userId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .header("ETag", Matchers.notNullValue())
+                    .extract().header("ETag");
+
+        given()
+                    .pathParams("userId", userId)
+                    .header("If-None-Match", etag)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.NOT_MODIFIED.getStatusCode());
+
+        given()
+                    .pathParams("userId", userId)
+                    .queryParam("followerId", followerId)
+                .when()
+                    .delete()
+                .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given()
+                    .pathParams("userId", userId)
+                    .header("If-None-Match", etag)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followerCount", Matchers.is(0));
+    }
+
+    @Test
+    @DisplayName("should not answer 304 once a follower is renamed")
+    public void listFollowersModifiedByRenameTest() {
+        String etag = given()
+                    .pathParams("userId", userId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .extract().header("ETag");
+
+        given()
+                    .basePath("/users")
+                    .contentType(ContentType.JSON)
+                    .body("{\"name\":\"renamed\",\"age\":28}")
+                .when()
+                    .put("/{id}", followerId)
+                .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given()
+                    .pathParams("userId", userId)
+                    .header("If-None-Match", etag)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("content[0].name", Matchers.is("renamed"));
+    }
+
+    @Test
+    @DisplayName("should page through followers with a cursor")
+    public void listFollowersPagedTest() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            var user = userRepository.findById(userId);
+            var follower = new User();
+            follower.setAge(40);
+            follower.setName("second follower");
+            userRepository.persist(follower);
+
+            var followerEntity = new Follower();
+            followerEntity.setFollower(follower);
+            followerEntity.setUser(user);
+            followerRepository.persist(followerEntity);
+        });
+
+        Number next = given()
+                    .pathParams("userId", userId)
+                    .queryParam("limit", 1)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("content.size()", Matchers.is(1))
+                    .body("content[0].name", Matchers.is("test2"))
+                    .body("next", Matchers.notNullValue())
+                    .extract().path("next");
+
+        given()
+                    .pathParams("userId", userId)
+                    .queryParam("limit", 1)
+                    .queryParam("afterId", next.longValue())
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("content.size()", Matchers.is(1))
+                    .body("content[0].name", Matchers.is("second follower"))
+                    .body("next", Matchers.nullValue());
+    }
+
+    @Test
+    @DisplayName("should return followers as CBOR when asked for it")
+    public void listFollowersAsCborTest() throws Exception {
+        byte[] body = given()
+                    .pathParams("userId", userId)
+                    .accept(CborMessageBodyWriter.APPLICATION_CBOR)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .contentType(CborMessageBodyWriter.APPLICATION_CBOR)
+                    .extract().asByteArray();
+
+        JsonNode followers = new CBORMapper().readTree(body);
+        assertEquals(1, followers.get("followerCount").asLong());
+        assertEquals("test2", followers.get("content").get(0).get("name").asText());
+    }
+
+    @Test
+    @DisplayName("should only gzip follower listings above the size threshold")
+    public void compressLargeFollowerListsTest() {
+        var rawBodies = RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+
+        given()
+                    .config(rawBodies)
+                    .pathParams("userId", userId)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .header(HttpHeaders.CONTENT_ENCODING, Matchers.nullValue())
+                    .header(HttpHeaders.VARY, Matchers.containsString(HttpHeaders.ACCEPT_ENCODING));
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            var user = userRepository.findById(userId);
+            for(int i = 0; i < 40; i++) {
+                var follower = new User();
+                follower.setAge(30);
+                follower.setName("follower with a reasonably long display name " + i);
+                userRepository.persist(follower);
+
+                var followerEntity = new Follower();
+                followerEntity.setFollower(follower);
+                followerEntity.setUser(user);
+                followerRepository.persist(followerEntity);
+            }
+        });
+
+        byte[] body = given()
+                    .config(rawBodies)
+                    .pathParams("userId", userId)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .extract().asByteArray();
+
+        assertEquals((byte) 0x1f, body[0]);
+        assertEquals((byte) 0x8b, body[1]);
+    }
+
+    @Test
+    @DisplayName("should complete small responses when gzip is accepted")
+    public void smallResponseWithGzipAcceptedTest() {
+        given()
+                    .pathParams("userId", userId)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .when()
+                    .get("count")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .header(HttpHeaders.CONTENT_ENCODING, Matchers.nullValue())
+                    .body("followerCount", Matchers.notNullValue());
+    }
+
+    @Test
+    @DisplayName("should tag each representation of a follower listing separately")
+    public void representationTagsTest() {
+        String jsonTag = given()
+                    .pathParams("userId", userId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .header(HttpHeaders.VARY, Matchers.containsString(HttpHeaders.ACCEPT))
+                    .extract().header(HttpHeaders.ETAG);
+
+        String cborTag = given()
+                    .pathParams("userId", userId)
+                    .accept(CborMessageBodyWriter.APPLICATION_CBOR)
+                    .header(HttpHeaders.IF_NONE_MATCH, jsonTag)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .extract().header(HttpHeaders.ETAG);
+        assertNotEquals(jsonTag, cborTag);
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            var user = userRepository.findById(userId);
+            for(int i = 0; i < 40; i++) {
+                var follower = new User();
+                follower.setAge(30);
+                follower.setName("follower with a reasonably long display name " + i);
+                userRepository.persist(follower);
+
+                var followerEntity = new Follower();
+                followerEntity.setFollower(follower);
+                followerEntity.setUser(user);
+                followerRepository.persist(followerEntity);
+            }
+            userRepository.update("followersVersion = followersVersion + 1 where id = ?1", userId);
+        });
+
+        var rawBodies = RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+        String gzipTag = given()
+                    .config(rawBodies)
+                    .pathParams("userId", userId)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.ETAG, Matchers.endsWith("-gzip\""))
+                    .extract().header(HttpHeaders.ETAG);
+
+        given()
+                    .config(rawBodies)
+                    .pathParams("userId", userId)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .header(HttpHeaders.IF_NONE_MATCH, gzipTag)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.NOT_MODIFIED.getStatusCode())
+                    .header(HttpHeaders.ETAG, gzipTag);
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.BatchFollowRequest;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.Response;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestHTTPEndpoint(FollowingResource.class)
+class FollowingResourceTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    FollowerRepository followerRepository;
+
+    Long followerId;
+    Long firstAccountId;
+    Long secondAccountId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        followerId = newUser("follower");
+        firstAccountId = newUser("first");
+        secondAccountId = newUser("second");
+    }
+
+    private Long newUser(String name) {
+        var user = new User();
+        user.setAge(27);
+        user.setName(name);
+        userRepository.persist(user);
+        return user.getId();
+    }
+
+    @Test
+    @DisplayName("should follow and unfollow several accounts in one request")
+    public void batchFollowTest() {
+        var follow = new BatchFollowRequest();
+        follow.setFollow(List.of(firstAccountId, secondAccountId, 99999L));
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(follow)
+                    .pathParams("userId", followerId)
+                .when()
+                    .post("/batch")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followed", Matchers.is(2))
+                    .body("unfollowed", Matchers.is(0))
+                    .body("notFound", Matchers.contains(99999));
+
+        var unfollow = new BatchFollowRequest();
+        unfollow.setFollow(List.of(firstAccountId));
+        unfollow.setUnfollow(List.of(secondAccountId));
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(unfollow)
+                    .pathParams("userId", followerId)
+                .when()
+                    .post("/batch")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followed", Matchers.is(0))
+                    .body("unfollowed", Matchers.is(1));
+    }
+
+    @Test
+    @DisplayName("should only count the edges a batch actually wrote")
+    public void batchFollowSkipsExistingEdgesTest() {
+        var first = new BatchFollowRequest();
+        first.setFollow(List.of(firstAccountId));
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(first)
+                    .pathParams("userId", followerId)
+                .when()
+                    .post("/batch")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followed", Matchers.is(1));
+
+        var both = new BatchFollowRequest();
+        both.setFollow(List.of(firstAccountId, secondAccountId));
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(both)
+                    .pathParams("userId", followerId)
+                .when()
+                    .post("/batch")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followed", Matchers.is(1));
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            assertEquals(2L, userRepository.findById(followerId).getFollowingCount());
+            assertEquals(1L, userRepository.findById(firstAccountId).getFollowerCount());
+            assertEquals(1L, userRepository.findById(secondAccountId).getFollowerCount());
+        });
+    }
+
+    @Test
+    @DisplayName("should return 409 when the same account is followed and unfollowed")
+    public void batchFollowConflictTest() {
+        var body = new BatchFollowRequest();
+        body.setFollow(List.of(firstAccountId));
+        body.setUnfollow(List.of(firstAccountId));
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .pathParams("userId", followerId)
+                .when()
+                    .post("/batch")
+                .then()
+                    .statusCode(Response.Status.CONFLICT.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("should list followed accounts in keyset pages")
+    public void listFollowingTest() {
+        var follow = new BatchFollowRequest();
+        follow.setFollow(List.of(firstAccountId, secondAccountId));
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(follow)
+                    .pathParams("userId", followerId)
+                .when()
+                    .post("/batch")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode());
+
+        Number next = given()
+                    .pathParams("userId", followerId)
+                    .queryParam("limit", 1)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("content.size()", Matchers.is(1))
+                    .body("next", Matchers.notNullValue())
+                    .extract().path("next");
+
+        given()
+                    .pathParams("userId", followerId)
+                    .queryParam("afterId", next.longValue())
+                    .queryParam("limit", 1)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("content.size()", Matchers.is(1))
+                    .body("next", Matchers.nullValue());
+
+        QuarkusTransaction.requiringNew().run(() -> followerRepository.insertIfAbsent(firstAccountId, followerId));
+
+        given()
+                    .pathParams("userId", followerId)
+                    .queryParam("mutual", true)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("content.userId", Matchers.contains(firstAccountId.intValue()));
+    }
+
+    @Test
+    @DisplayName("should return 404 when listing followed accounts of a nonexistent user")
+    public void listFollowingNotFoundTest() {
+        given()
+                    .pathParams("userId", 99999)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+}
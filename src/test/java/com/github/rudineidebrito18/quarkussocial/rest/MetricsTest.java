@@ -0,0 +1,32 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+class MetricsTest {
+
+    @Test
+    @DisplayName("should publish resource timers and SQL statement counts on /q/metrics")
+    void metricsEndpointTest() {
+        given()
+                .when()
+                .get("/users")
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(Matchers.containsString("social_resource_seconds_bucket"))
+                .body(Matchers.containsString("method=\"listAllUsers\""))
+                .body(Matchers.containsString("social_request_sql_statements_count"))
+                .body(Matchers.containsString("agroal_active_count"));
+    }
+}
@@ -7,6 +7,7 @@ import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepos
 import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
 import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
 import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
@@ -83,13 +84,29 @@ class PostResourceTest {
                     .statusCode(201);
     }
 
+    @Test
+    @DisplayName("should return 422 for a post without text")
+    public void createPostValidationErrorTest(){
+        var postRequest = new CreatePostRequest();
+
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(postRequest)
+                    .pathParams("userId", userId)
+                .when()
+                    .post()
+                .then()
+                    .statusCode(422)
+                    .body("errors.field", Matchers.hasItem("text"));
+    }
+
     @Test
     @DisplayName("should return 404 when trying to make a post for an nonexistent user")
     public void postForAnNonexistentUserTest(){
         var postRequest = new CreatePostRequest();
         postRequest.setText("some text");
 
-        var userID = 950;
+        var userID = 99999;
 
         given()
                     .contentType(ContentType.JSON)
@@ -104,7 +121,7 @@ class PostResourceTest {
     @Test
     @DisplayName("should return 404 when user doesn't exist")
     public void listPostUserNotFoundTest() {
-        var nonexistentUserId = 100;
+        var nonexistentUserId = 99999;
 
         given()
                     .pathParams("userId", nonexistentUserId)
@@ -129,7 +146,7 @@ class PostResourceTest {
     @Test
     @DisplayName("should return 404 when follower doesn't exist")
     public void listPostFollowerNotFoundTest() {
-        var nonexistentFollowerId = 100;
+        var nonexistentFollowerId = 99999;
 
         given()
                     .pathParams("userId", userId)
@@ -160,6 +177,7 @@ class PostResourceTest {
         given()
                     .pathParams("userId", userId)
                     .header("followerId", userFollowerId)
+                    .queryParam("unpaged", true)
                 .when()
                     .get()
                 .then()
@@ -167,4 +185,134 @@ class PostResourceTest {
                     .body("size()", Matchers.is(1));
     }
 
+    @Test
+    @DisplayName("should page through posts with a cursor")
+    public void listPostPagedTest() {
+        createPost("second");
+
+        String next = given()
+                    .pathParams("userId", userId)
+                    .header("followerId", userFollowerId)
+                    .queryParam("limit", 1)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .body("content.size()", Matchers.is(1))
+                    .body("content[0].text", Matchers.is("second"))
+                    .body("next", Matchers.notNullValue())
+                    .extract().path("next");
+
+        given()
+                    .pathParams("userId", userId)
+                    .header("followerId", userFollowerId)
+                    .queryParam("limit", 1)
+                    .queryParam("cursor", next)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .body("content.size()", Matchers.is(1))
+                    .body("content[0].text", Matchers.is("testing!"))
+                    .body("next", Matchers.nullValue());
+    }
+
+    @Test
+    @DisplayName("should return 400 when cursor is invalid")
+    public void listPostInvalidCursorTest() {
+        given()
+                    .pathParams("userId", userId)
+                    .header("followerId", userFollowerId)
+                    .queryParam("cursor", "not-a-cursor")
+                .when()
+                    .get()
+                .then()
+                    .statusCode(400)
+                    .body(Matchers.is("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("should answer 304 while the user's posts are unchanged")
+    public void listPostNotModifiedTest() {
+        String etag = given()
+                    .pathParams("userId", userId)
+                    .header("followerId", userFollowerId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .header("ETag", Matchers.notNullValue())
+                    .header("Last-Modified", Matchers.notNullValue())
+                    .extract().header("ETag");
+
+        given()
+                    .pathParams("userId", userId)
+                    .header("followerId", userFollowerId)
+                    .header("If-None-Match", etag)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(304);
+
+        createPost("new one");
+
+        given()
+                    .pathParams("userId", userId)
+                    .header("followerId", userFollowerId)
+                    .header("If-None-Match", etag)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .body("content[0].text", Matchers.is("new one"));
+    }
+
+    @Test
+    @DisplayName("should still check access before answering 304")
+    public void listPostNotModifiedRequiresFollowTest() {
+        String etag = given()
+                    .pathParams("userId", userId)
+                    .header("followerId", userFollowerId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(200)
+                    .extract().header("ETag");
+
+        given()
+                    .pathParams("userId", userId)
+                    .header("followerId", userNotFollowerId)
+                    .header("If-None-Match", etag)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(403);
+    }
+
+    @Test
+    @DisplayName("should bump the author's posts version once per transaction")
+    public void postsVersionOncePerTransactionTest() {
+        long before = QuarkusTransaction.requiringNew().call(() -> postRepository.findStats(userId).getVersion());
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            User user = userRepository.findById(userId);
+            for(int i = 0; i < 3; i++) {
+                Post post = new Post();
+                post.setText("batch " + i);
+                post.setUser(user);
+                postRepository.persist(post);
+            }
+        });
+
+        assertEquals(before + 1, QuarkusTransaction.requiringNew().call(() -> postRepository.findStats(userId).getVersion()));
+    }
+
+    void createPost(String text) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Post post = new Post();
+            post.setText(text);
+            post.setUser(userRepository.findById(userId));
+            postRepository.persist(post);
+        });
+    }
 }
\ No newline at end of file
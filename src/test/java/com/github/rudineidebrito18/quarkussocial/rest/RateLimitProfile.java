@@ -0,0 +1,15 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+public class RateLimitProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "social.rate-limit.enabled", "true",
+                "social.rate-limit.posts-write.per-second", "0.01",
+                "social.rate-limit.posts-write.burst", "2");
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreatePostRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestProfile(RateLimitProfile.class)
+class RateLimitTest {
+    @Inject
+    UserRepository userRepository;
+
+    Long userId;
+    Long otherUserId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("chatty");
+        userRepository.persist(user);
+        userId = user.getId();
+
+        var other = new User();
+        other.setAge(31);
+        other.setName("quiet");
+        userRepository.persist(other);
+        otherUserId = other.getId();
+    }
+
+    @Test
+    @DisplayName("should answer 429 with Retry-After once a user's post quota is spent, without affecting others")
+    void postQuotaTest() {
+        post(userId).then().statusCode(Response.Status.CREATED.getStatusCode());
+        post(userId).then().statusCode(Response.Status.CREATED.getStatusCode());
+
+        post(userId)
+                .then()
+                    .statusCode(Response.Status.TOO_MANY_REQUESTS.getStatusCode())
+                    .header(HttpHeaders.RETRY_AFTER, Matchers.notNullValue());
+
+        post(otherUserId).then().statusCode(Response.Status.CREATED.getStatusCode());
+
+        given()
+                .when()
+                    .get("/q/metrics")
+                .then()
+                    .statusCode(200)
+                    .body(Matchers.containsString("social_rate_limit_throttled_total{limiter=\"posts-write\""));
+    }
+
+    private io.restassured.response.Response post(Long author) {
+        var request = new CreatePostRequest();
+        request.setText("again");
+        return given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .pathParams("userId", author)
+                .when()
+                    .post("/users/{userId}/posts");
+    }
+}
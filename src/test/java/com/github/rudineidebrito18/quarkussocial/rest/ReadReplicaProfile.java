@@ -0,0 +1,20 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+/**
+ * Routes reads to a second in-memory database that only holds what the test puts there, so a response
+ * shows which of the two served it.
+ */
+public class ReadReplicaProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.hibernate-orm.multitenant", "DATABASE",
+                "quarkus.datasource.read.jdbc.url", "jdbc:h2:mem:quarkus-social-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "social.read-replica.enabled", "true",
+                "social.read-replica.read-your-writes", "PT1M");
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.rest.dto.CreateUserRequest;
+import com.github.rudineidebrito18.quarkussocial.rest.dto.FollowerRequest;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestProfile(ReadReplicaProfile.class)
+class ReadReplicaRoutingTest {
+    static final long REPLICA_ONLY_USER_ID = 990001;
+    static final long PRIMARY_FOLLOWER_ID = 990002;
+    static final long PRIMARY_FOLLOWED_ID = 990003;
+
+    @Inject
+    AgroalDataSource primary;
+
+    @Inject
+    @DataSource("read")
+    AgroalDataSource replica;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try(Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists users (id bigint primary key, name varchar(100), age integer,"
+                    + " follower_count bigint not null default 0, following_count bigint not null default 0,"
+                    + " followers_version bigint not null default 0, posts_version bigint not null default 0,"
+                    + " posts_changed_at timestamp)");
+            statement.execute("delete from users where id = " + REPLICA_ONLY_USER_ID);
+            statement.execute("insert into users (id, name, age) values (" + REPLICA_ONLY_USER_ID + ", 'replica only', 40)");
+        }
+        try(Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("delete from followers where follower_id = " + PRIMARY_FOLLOWER_ID);
+            statement.execute("delete from users where id in (" + PRIMARY_FOLLOWER_ID + ", " + PRIMARY_FOLLOWED_ID + ")");
+            statement.execute("insert into users (id, name, age, follower_count, following_count, followers_version)"
+                    + " values (" + PRIMARY_FOLLOWER_ID + ", 'primary follower', 20, 0, 0, 0), ("
+                    + PRIMARY_FOLLOWED_ID + ", 'primary followed', 21, 0, 0, 0)");
+        }
+    }
+
+    @Test
+    @DisplayName("should serve listings from the read datasource")
+    void listFromReplicaTest() {
+        given()
+                .when()
+                    .get("/users")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("name", Matchers.hasItem("replica only"));
+    }
+
+    @Test
+    @DisplayName("should read a user's own writes from the primary")
+    void readYourWritesTest() {
+        var user = new CreateUserRequest();
+        user.setName("fresh");
+        user.setAge(30);
+        Number id = given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                .when()
+                    .post("/users")
+                .then()
+                    .statusCode(Response.Status.CREATED.getStatusCode())
+                    .extract().path("id");
+
+        // only on the primary, which the create pinned this user's reads to
+        given()
+                    .pathParams("userId", id)
+                .when()
+                    .get("/users/{userId}/followers")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followerCount", Matchers.is(0));
+
+        user.setName("fresher");
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                    .pathParams("id", id)
+                .when()
+                    .put("/users/{id}")
+                .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given()
+                    .pathParams("userId", id)
+                .when()
+                    .get("/users/{userId}/followers")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("followerCount", Matchers.is(0));
+    }
+
+    @Test
+    @DisplayName("should read the follower of a follow request from the primary")
+    void readFollowerWritesTest() {
+        var follow = new FollowerRequest();
+        follow.setFollowerId(PRIMARY_FOLLOWER_ID);
+        given()
+                    .contentType(ContentType.JSON)
+                    .body(follow)
+                    .pathParams("userId", PRIMARY_FOLLOWED_ID)
+                .when()
+                    .put("/users/{userId}/followers")
+                .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        // the follower is named only in the body, and the edge exists only on the primary
+        given()
+                    .pathParams("userId", PRIMARY_FOLLOWER_ID)
+                .when()
+                    .get("/users/{userId}/following")
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("content.size()", Matchers.is(1));
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestHTTPEndpoint(RelationshipResource.class)
+class RelationshipResourceTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    FollowerRepository followerRepository;
+
+    // created once for the class: me follows friend (who follows back) and idol; fan follows me
+    static Long meId;
+    static Long friendId;
+    static Long idolId;
+    static Long fanId;
+
+    @BeforeEach
+    void setUp() {
+        if(meId != null) {
+            return;
+        }
+        QuarkusTransaction.requiringNew().run(() -> {
+            meId = newUser("me");
+            friendId = newUser("friend");
+            idolId = newUser("idol");
+            fanId = newUser("fan");
+            followerRepository.insertIfAbsent(meId, friendId);
+            followerRepository.insertIfAbsent(friendId, meId);
+            followerRepository.insertIfAbsent(meId, idolId);
+            followerRepository.insertIfAbsent(fanId, meId);
+        });
+    }
+
+    private Long newUser(String name) {
+        var user = new User();
+        user.setAge(25);
+        user.setName(name);
+        userRepository.persist(user);
+        return user.getId();
+    }
+
+    @Test
+    @DisplayName("should return both edge directions for each requested account")
+    public void relationshipsTest() {
+        given()
+                    .pathParams("userId", meId)
+                    .queryParam("ids", friendId, idolId, fanId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.OK.getStatusCode())
+                    .body("userId", Matchers.contains(friendId.intValue(), idolId.intValue(), fanId.intValue()))
+                    .body("following", Matchers.contains(true, true, false))
+                    .body("followedBy", Matchers.contains(true, false, true))
+                    .body("mutual", Matchers.contains(true, false, false));
+    }
+
+    @Test
+    @DisplayName("should return 400 when no ids are given")
+    public void missingIdsTest() {
+        given()
+                    .pathParams("userId", meId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("should return 404 when the user doesn't exist")
+    public void userNotFoundTest() {
+        given()
+                    .pathParams("userId", 99999)
+                    .queryParam("ids", meId)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+}
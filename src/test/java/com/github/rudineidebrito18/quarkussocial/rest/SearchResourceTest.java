@@ -0,0 +1,68 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * The search query itself needs PostgreSQL ({@code tsvector}, GIN); the H2 test profile covers request validation.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SearchResource.class)
+class SearchResourceTest {
+
+    @Test
+    @DisplayName("should return 400 when q is missing")
+    public void missingQueryTest() {
+        given()
+                    .header("followerId", 1)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(400)
+                    .body(Matchers.is("You forgot the query parameter q"));
+    }
+
+    @Test
+    @DisplayName("should return 400 when the followerId header is missing")
+    public void missingFollowerTest() {
+        given()
+                    .queryParam("q", "quarkus")
+                .when()
+                    .get()
+                .then()
+                    .statusCode(400)
+                    .body(Matchers.is("You forgot the header followerId"));
+    }
+
+    @Test
+    @DisplayName("should return 400 when the cursor is invalid")
+    public void invalidCursorTest() {
+        given()
+                    .queryParam("q", "quarkus")
+                    .queryParam("cursor", "not-a-cursor")
+                    .header("followerId", 1)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(400)
+                    .body(Matchers.is("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("should return 400 when the caller doesn't exist")
+    public void nonexistentFollowerTest() {
+        given()
+                    .queryParam("q", "quarkus")
+                    .header("followerId", 99999)
+                .when()
+                    .get()
+                .then()
+                    .statusCode(400)
+                    .body(Matchers.is("nonexistent followerId"));
+    }
+}
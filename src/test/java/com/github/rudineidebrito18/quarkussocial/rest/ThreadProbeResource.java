@@ -0,0 +1,28 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Test-only endpoint that runs its body the way the listing endpoints do and reports whether that body
+ * ran on a virtual thread.
+ */
+@Path("test/thread")
+@ApplicationScoped
+public class ThreadProbeResource {
+    @Inject
+    ResourceExecution execution;
+
+    @GET
+    @Produces(MediaType.TEXT_PLAIN)
+    public CompletionStage<Response> virtual() {
+        return execution.submit(() -> Response.ok(String.valueOf(Thread.currentThread().isVirtual())).build());
+    }
+}
@@ -40,6 +40,10 @@ class UserResourceTest {
 
         assertEquals(201, response.statusCode());
         assertNotNull(response.jsonPath().getString("id"));
+        Map<String, Object> body = response.jsonPath().getMap("$");
+        assertFalse(body.containsKey("followersVersion"));
+        assertFalse(body.containsKey("postsVersion"));
+        assertFalse(body.containsKey("postsChangedAt"));
     }
 
     @Test
@@ -81,4 +85,114 @@ class UserResourceTest {
                 .statusCode(200)
                 .body("size()", Matchers.is(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should page users by id")
+    @Order(4)
+    public void listUsersAfterIdTest() {
+        given()
+                .contentType(ContentType.JSON)
+                .queryParam("afterId", 0)
+                .queryParam("limit", 1)
+                .when()
+                .get(apiURL)
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(1));
+    }
+
+    @Test
+    @DisplayName("should stream all users as a json array")
+    @Order(5)
+    public void streamAllUsersTest() {
+        given()
+                .queryParam("stream", true)
+                .when()
+                .get(apiURL)
+                .then()
+                .statusCode(200)
+                .body("size()", Matchers.greaterThanOrEqualTo(1))
+                .body("[0].name", Matchers.notNullValue());
+    }
+
+    @Test
+    @DisplayName("should forget a cached user once it is deleted")
+    @Order(6)
+    public void deletedUserIsNotServedFromCacheTest() {
+        var user = new CreateUserRequest();
+        user.setName("cached");
+        user.setAge(40);
+
+        String id = given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                .when()
+                    .post(apiURL)
+                .then()
+                    .statusCode(201)
+                    .extract().jsonPath().getString("id");
+
+        given()
+                .when()
+                .get(apiURL + "/" + id + "/feed")
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .delete(apiURL + "/" + id)
+                .then()
+                .statusCode(204);
+
+        given()
+                .when()
+                .get(apiURL + "/" + id + "/feed")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("should page users by page number and size without skipping any")
+    @Order(7)
+    public void listUsersByPageTest() {
+        for(int i = 0; i < 4; i++) {
+            var user = new CreateUserRequest();
+            user.setName("paged" + i);
+            user.setAge(20 + i);
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(user)
+                .when()
+                    .post(apiURL)
+                .then()
+                    .statusCode(201);
+        }
+
+        List<Integer> ids = given()
+                    .queryParam("stream", true)
+                .when()
+                    .get(apiURL)
+                .then()
+                    .statusCode(200)
+                    .extract().jsonPath().getList("id", Integer.class);
+
+        given()
+                    .queryParam("page", 0)
+                    .queryParam("size", 2)
+                .when()
+                    .get(apiURL)
+                .then()
+                    .statusCode(200)
+                    .body("content.id", Matchers.contains(ids.get(0), ids.get(1)))
+                    .body("next", Matchers.is(1));
+
+        given()
+                    .queryParam("page", 1)
+                    .queryParam("size", 2)
+                .when()
+                    .get(apiURL)
+                .then()
+                    .statusCode(200)
+                    .body("content.id", Matchers.contains(ids.get(2), ids.get(3)));
+    }
+}
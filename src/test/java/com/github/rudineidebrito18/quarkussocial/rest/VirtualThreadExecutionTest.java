@@ -0,0 +1,121 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import com.github.rudineidebrito18.quarkussocial.domain.model.Follower;
+import com.github.rudineidebrito18.quarkussocial.domain.model.Post;
+import com.github.rudineidebrito18.quarkussocial.domain.model.User;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.FollowerRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.PostRepository;
+import com.github.rudineidebrito18.quarkussocial.domain.repository.UserRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Listing endpoints with {@code social.execution.mode=virtual}. Surefire runs with
+ * {@code -Djdk.tracePinnedThreads=full}, so any carrier pinning shows up in the test output.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class VirtualThreadExecutionTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    PostRepository postRepository;
+    @Inject
+    FollowerRepository followerRepository;
+    @Inject
+    ResourceExecution execution;
+
+    Long authorId;
+    Long readerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var author = new User();
+        author.setAge(30);
+        author.setName("author");
+        userRepository.persist(author);
+        authorId = author.getId();
+
+        var reader = new User();
+        reader.setAge(31);
+        reader.setName("reader");
+        userRepository.persist(reader);
+        readerId = reader.getId();
+
+        Post post = new Post();
+        post.setText("posted from a virtual thread test");
+        post.setUser(author);
+        postRepository.persist(post);
+
+        Follower follower = new Follower();
+        follower.setUser(author);
+        follower.setFollower(reader);
+        followerRepository.persist(follower);
+    }
+
+    @Test
+    @DisplayName("should run in virtual mode under this profile")
+    void virtualModeTest() {
+        Assertions.assertEquals(ResourceExecution.Mode.VIRTUAL, execution.mode());
+    }
+
+    @Test
+    @DisplayName("should run the resource body on a virtual thread")
+    void handlerOnVirtualThreadTest() {
+        given()
+                .when()
+                .get("/test/thread")
+                .then()
+                .statusCode(200)
+                .body(Matchers.is("true"));
+    }
+
+    @Test
+    @DisplayName("should list posts from a virtual thread")
+    void listPostsTest() {
+        given()
+                .pathParam("userId", authorId)
+                .header("followerId", readerId)
+                .when()
+                .get("/users/{userId}/posts")
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(1))
+                .body("content[0].text", Matchers.is("posted from a virtual thread test"));
+    }
+
+    @Test
+    @DisplayName("should keep the error statuses from a virtual thread")
+    void listPostsForbiddenTest() {
+        given()
+                .pathParam("userId", readerId)
+                .header("followerId", authorId)
+                .when()
+                .get("/users/{userId}/posts")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    @DisplayName("should list followers from a virtual thread")
+    void listFollowersTest() {
+        given()
+                .pathParam("userId", authorId)
+                .when()
+                .get("/users/{userId}/followers")
+                .then()
+                .statusCode(200)
+                .body("followerCount", Matchers.is(1))
+                .body("content[0].name", Matchers.is("reader"));
+    }
+}
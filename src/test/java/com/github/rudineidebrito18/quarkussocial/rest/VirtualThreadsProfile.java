@@ -0,0 +1,14 @@
+package com.github.rudineidebrito18.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+public class VirtualThreadsProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "social.execution.mode", "virtual",
+                "quarkus.datasource.jdbc.max-size", "100");
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.rudineidebrito18.quarkussocial.rest.reactive;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * The test profile runs on H2, which has no reactive client, so only the fallback and what is answered
+ * before touching the database are covered here; {@code PostgresReactiveTest} covers the rest.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(ReactiveUserResource.class)
+class ReactiveUserResourceTest {
+
+    @Test
+    @DisplayName("should answer 503 when there is no reactive datasource")
+    void serviceUnavailableWithoutReactiveDatasourceTest() {
+        given()
+                .when()
+                .get()
+                .then()
+                .statusCode(503);
+    }
+
+    @Test
+    @DisplayName("should still validate the request before touching the database")
+    void validationErrorTest() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("age", 20))
+                .when()
+                .post()
+                .then()
+                .statusCode(422);
+    }
+
+    @Test
+    @DisplayName("should answer 503 on the follower and post resources too when there is no reactive datasource")
+    void serviceUnavailableOnOtherResourcesTest() {
+        given()
+                .basePath("/reactive/users/{userId}/followers")
+                .pathParam("userId", 1)
+                .queryParam("limit", 2)
+                .when()
+                .get()
+                .then()
+                .statusCode(503);
+        given()
+                .basePath("/reactive/users/{userId}/posts")
+                .pathParam("userId", 1)
+                .header("followerId", 2)
+                .when()
+                .get()
+                .then()
+                .statusCode(503);
+    }
+
+    @Test
+    @DisplayName("should refuse a self-follow before touching the database")
+    void selfFollowConflictTest() {
+        given()
+                .basePath("/reactive/users/{userId}/followers")
+                .pathParam("userId", 1)
+                .contentType(ContentType.JSON)
+                .body(Map.of("followerId", 1))
+                .when()
+                .put()
+                .then()
+                .statusCode(409);
+    }
+}